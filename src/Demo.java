@@ -1,16 +1,28 @@
 
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.IntStream;
 import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.IndexedDirectedGraph;
+import net.coderodde.graph.shortestpath.ShortestPathFinder;
+import net.coderodde.graph.shortestpath.support.ContractionHierarchy;
+import net.coderodde.graph.shortestpath.support.ContractionHierarchyShortestPathFinder;
+import net.coderodde.graph.shortestpath.support.DijkstraShortestPathFinder;
 import net.coderodde.graph.tsp.AsymmetricTSPSolver;
 import static net.coderodde.graph.tsp.AsymmetricTSPSolver.getTourCost;
 import net.coderodde.graph.tsp.TSPGraphPreprocessor;
 import net.coderodde.graph.tsp.support.DefaultAsymmetricTSPSolver;
+import net.coderodde.graph.tsp.support.HeldKarpAsymmetricTSPSolver;
 import net.coderodde.graph.tsp.support.IterativeAsymmetricTSPSolver;
+import net.coderodde.graph.tsp.support.ParallelAsymmetricTSPSolver;
+import net.coderodde.util.IntPriorityQueue;
+import net.coderodde.util.PriorityQueue;
+import net.coderodde.util.support.DaryHeap;
+import net.coderodde.util.support.IntDaryHeap;
 
 public class Demo {
     
@@ -19,11 +31,29 @@ public class Demo {
     private static final int WARMUP_ITERATIONS = 50;
     private static final int WARMUP_NODES = 8;
     private static final int WARMUP_ARCS = 35;
+    private static final int HEAP_BENCHMARK_NODES = 2_000;
+    private static final int HEAP_BENCHMARK_ARCS = 10_000;
+    private static final int HEAP_BENCHMARK_ROUNDS = 5;
+    private static final int GRID_WIDTH = 142;
+    private static final int GRID_HEIGHT = 142;
+    private static final int GRID_QUERIES = 1_000;
+    private static final int GRID_TABLE_SIZE = 200;
     
     public static void main(final String... args) {
         final long seed = System.nanoTime();
         final Random random = new Random(seed);
         System.out.println("Seed = " + seed);
+        
+        if (args.length > 0 && args[0].equals("heap")) {
+            benchmarkHeaps(random);
+            return;
+        }
+        
+        if (args.length > 0 && args[0].equals("ch")) {
+            benchmarkContractionHierarchy(random);
+            return;
+        }
+        
         warmup(random);
         benchmark(random);
     }
@@ -32,6 +62,7 @@ public class Demo {
         System.out.println("[STATUS] Warming up...");
         final AsymmetricTSPSolver solver1 = new DefaultAsymmetricTSPSolver();
         final AsymmetricTSPSolver solver2 = new IterativeAsymmetricTSPSolver();
+        final AsymmetricTSPSolver solver3 = new HeldKarpAsymmetricTSPSolver();
         
         final DirectedGraph graph = 
                 new TSPGraphPreprocessor()
@@ -44,6 +75,7 @@ public class Demo {
         for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
             solver1.solve(graph);
             solver2.solve(graph);
+            solver3.solve(graph);
         }
         
         System.out.println("[STATUS] Warming up done!");
@@ -63,6 +95,11 @@ public class Demo {
         final List<Integer> tour2 =
                 benchmark(graph, new IterativeAsymmetricTSPSolver());
         
+        final List<Integer> tour3 =
+                benchmark(graph, new HeldKarpAsymmetricTSPSolver());
+        
+        final List<Integer> tour4 =
+                benchmark(graph, new ParallelAsymmetricTSPSolver());
         
     }
     
@@ -86,6 +123,267 @@ public class Demo {
         return tour;
     }
     
+    /**
+     * Compares {@link DaryHeap} against {@link IntDaryHeap} in the
+     * single-source searches of {@link TSPGraphPreprocessor}: computes the
+     * distances from every node of a sparse random graph in a single thread,
+     * once with each heap, and reports the best time of several rounds.
+     *
+     * @param random the random number generator.
+     */
+    private static void benchmarkHeaps(final Random random) {
+        final IndexedDirectedGraph graph =
+                new IndexedDirectedGraph(
+                        createRandomGraph(HEAP_BENCHMARK_NODES,
+                                          HEAP_BENCHMARK_ARCS,
+                                          10.0,
+                                          random));
+        final int n = graph.size();
+        final double[] distances = new double[n];
+        long boxedDuration = Long.MAX_VALUE;
+        long primitiveDuration = Long.MAX_VALUE;
+        double boxedChecksum = 0.0;
+        double primitiveChecksum = 0.0;
+        
+        System.out.println("[BENCHMARK] All-pairs searches over " + n +
+                           " nodes and " + graph.getNumberOfEdges() +
+                           " arcs...");
+        
+        for (int round = 0; round < HEAP_BENCHMARK_ROUNDS; ++round) {
+            long startTime = System.nanoTime();
+            final PriorityQueue<Integer> boxedHeap = new DaryHeap<>();
+            boxedChecksum = 0.0;
+            
+            for (int source = 0; source < n; ++source) {
+                computeDistances(graph, source, distances, boxedHeap);
+                boxedChecksum += sumOfFiniteDistances(distances);
+            }
+            
+            boxedDuration = Math.min(boxedDuration,
+                                     System.nanoTime() - startTime);
+            startTime = System.nanoTime();
+            final IntPriorityQueue primitiveHeap = new IntDaryHeap(n);
+            primitiveChecksum = 0.0;
+            
+            for (int source = 0; source < n; ++source) {
+                computeDistances(graph, source, distances, primitiveHeap);
+                primitiveChecksum += sumOfFiniteDistances(distances);
+            }
+            
+            primitiveDuration = Math.min(primitiveDuration,
+                                         System.nanoTime() - startTime);
+        }
+        
+        System.out.printf("[BENCHMARK] DaryHeap took %.1f milliseconds.\n",
+                          boxedDuration / 1e6);
+        System.out.printf("[BENCHMARK] IntDaryHeap took %.1f milliseconds.\n",
+                          primitiveDuration / 1e6);
+        System.out.println("[BENCHMARK] The distances agree: " +
+                           (boxedChecksum == primitiveChecksum));
+    }
+    
+    /**
+     * Compares {@link ContractionHierarchyShortestPathFinder} against
+     * {@link DijkstraShortestPathFinder} on a grid graph with random arc
+     * weights: reports the time of building the hierarchy, the mean time of a
+     * point-to-point query with each finder and the time of a distance table
+     * with the hierarchy and with a Dijkstra row per source.
+     *
+     * @param random the random number generator.
+     */
+    private static void benchmarkContractionHierarchy(final Random random) {
+        final DirectedGraph graph = createGridGraph(GRID_WIDTH,
+                                                    GRID_HEIGHT,
+                                                    random);
+        final int n = graph.size();
+        final int[] sources = new int[GRID_QUERIES];
+        final int[] targets = new int[GRID_QUERIES];
+        
+        for (int i = 0; i < GRID_QUERIES; ++i) {
+            sources[i] = random.nextInt(n);
+            targets[i] = random.nextInt(n);
+        }
+        
+        System.out.println("[BENCHMARK] Grid of " + n + " nodes...");
+        
+        long startTime = System.nanoTime();
+        final ContractionHierarchy hierarchy = new ContractionHierarchy(graph);
+        System.out.printf("[BENCHMARK] Building the hierarchy took %.1f " +
+                          "milliseconds, %d shortcuts.\n",
+                          (System.nanoTime() - startTime) / 1e6,
+                          hierarchy.getNumberOfShortcuts());
+        
+        final ContractionHierarchyShortestPathFinder hierarchyFinder =
+                new ContractionHierarchyShortestPathFinder(hierarchy);
+        final double[] hierarchyCosts =
+                benchmarkQueries(graph, hierarchyFinder, sources, targets);
+        final double[] dijkstraCosts =
+                benchmarkQueries(graph,
+                                 new DijkstraShortestPathFinder(),
+                                 sources,
+                                 targets);
+        System.out.println("[BENCHMARK] The path costs agree: " +
+                           Arrays.equals(hierarchyCosts, dijkstraCosts));
+        
+        final List<Integer> tableSources = new ArrayList<>(GRID_TABLE_SIZE);
+        final List<Integer> tableTargets = new ArrayList<>(GRID_TABLE_SIZE);
+        
+        for (int i = 0; i < GRID_TABLE_SIZE; ++i) {
+            tableSources.add(random.nextInt(n));
+            tableTargets.add(random.nextInt(n));
+        }
+        
+        startTime = System.nanoTime();
+        final double[] hierarchyTable =
+                hierarchyFinder.computeDistanceTable(graph,
+                                                     tableSources,
+                                                     tableTargets);
+        final long hierarchyTableTime = System.nanoTime() - startTime;
+        
+        startTime = System.nanoTime();
+        final double[] dijkstraTable =
+                new DijkstraShortestPathFinder()
+                        .computeDistances(graph,
+                                          tableSources,
+                                          tableTargets,
+                                          false)
+                        .getDistances();
+        final long dijkstraTableTime = System.nanoTime() - startTime;
+        
+        System.out.printf("[BENCHMARK] A %dx%d distance table took %.1f " +
+                          "milliseconds with the hierarchy, %.1f " +
+                          "milliseconds with the Dijkstra rows.\n",
+                          GRID_TABLE_SIZE,
+                          GRID_TABLE_SIZE,
+                          hierarchyTableTime / 1e6,
+                          dijkstraTableTime / 1e6);
+        System.out.println("[BENCHMARK] The tables agree: " +
+                           tablesAgree(hierarchyTable, dijkstraTable));
+    }
+    
+    private static boolean tablesAgree(final double[] table1,
+                                       final double[] table2) {
+        for (int i = 0; i < table1.length; ++i) {
+            if (Math.abs(table1[i] - table2[i]) > 1e-9 * table2[i]) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    private static double[] benchmarkQueries(final DirectedGraph graph,
+                                             final ShortestPathFinder finder,
+                                             final int[] sources,
+                                             final int[] targets) {
+        final double[] costs = new double[sources.length];
+        final long startTime = System.nanoTime();
+        
+        for (int i = 0; i < sources.length; ++i) {
+            final List<Integer> path =
+                    finder.findShortestPath(graph, sources[i], targets[i]);
+            
+            for (int j = 1; j < path.size(); ++j) {
+                costs[i] += graph.getEdgeWeight(path.get(j - 1), path.get(j));
+            }
+        }
+        
+        System.out.printf("[BENCHMARK] " + finder.getClass().getSimpleName() +
+                          " took %.3f milliseconds per query.\n",
+                          (System.nanoTime() - startTime) / 1e6 /
+                          sources.length);
+        return costs;
+    }
+    
+    private static void computeDistances(final IndexedDirectedGraph graph,
+                                         final int source,
+                                         final double[] distances,
+                                         final PriorityQueue<Integer> OPEN) {
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0.0;
+        OPEN.add(source, 0.0);
+        
+        while (!OPEN.isEmpty()) {
+            final int current = OPEN.extractMinimum();
+            final int end = graph.getChildrenEnd(current);
+            
+            for (int arc = graph.getChildrenBegin(current); arc < end; ++arc) {
+                final int child = graph.getChild(arc);
+                final double tentativeDistance =
+                        distances[current] + graph.getChildArcWeight(arc);
+                
+                if (distances[child] > tentativeDistance) {
+                    distances[child] = tentativeDistance;
+                    OPEN.add(child, tentativeDistance);
+                }
+            }
+        }
+    }
+    
+    private static void computeDistances(final IndexedDirectedGraph graph,
+                                         final int source,
+                                         final double[] distances,
+                                         final IntPriorityQueue OPEN) {
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0.0;
+        OPEN.add(source, 0.0);
+        
+        while (!OPEN.isEmpty()) {
+            final int current = OPEN.extractMinimum();
+            final int end = graph.getChildrenEnd(current);
+            
+            for (int arc = graph.getChildrenBegin(current); arc < end; ++arc) {
+                final int child = graph.getChild(arc);
+                final double tentativeDistance =
+                        distances[current] + graph.getChildArcWeight(arc);
+                
+                if (distances[child] > tentativeDistance) {
+                    distances[child] = tentativeDistance;
+                    OPEN.add(child, tentativeDistance);
+                }
+            }
+        }
+    }
+    
+    private static double sumOfFiniteDistances(final double[] distances) {
+        double sum = 0.0;
+        
+        for (final double distance : distances) {
+            if (distance != Double.POSITIVE_INFINITY) {
+                sum += distance;
+            }
+        }
+        
+        return sum;
+    }
+    
+    private static DirectedGraph createGridGraph(final int width,
+                                                final int height,
+                                                final Random random) {
+        final DirectedGraph graph = new DirectedGraph();
+        
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                final int node = y * width + x;
+                graph.addNode(node);
+                
+                if (x > 0) {
+                    graph.addEdge(node, node - 1, 1.0 + random.nextDouble());
+                    graph.addEdge(node - 1, node, 1.0 + random.nextDouble());
+                }
+                
+                if (y > 0) {
+                    graph.addEdge(node, node - width,
+                                  1.0 + random.nextDouble());
+                    graph.addEdge(node - width, node,
+                                  1.0 + random.nextDouble());
+                }
+            }
+        }
+        
+        return graph;
+    }
+    
     private static DirectedGraph createRandomGraph(final int nodes, 
                                                    final int arcs,
                                                    final double maxArcWeight,
@@ -0,0 +1,179 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class implements an immutable directed graph backed by a dense cost
+ * matrix. The nodes are remapped to indices {@code 0, 1, ..., n - 1}, and the
+ * arc weights are stored in a flat row-major {@code double} array, so that
+ * querying an arc weight involves neither hashing nor boxing. The arcs that do
+ * not appear in the graph have the weight {@link Double#POSITIVE_INFINITY}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class DenseDirectedGraph {
+
+    /**
+     * Maps each node index to the node ID.
+     */
+    private final int[] nodeIds;
+
+    /**
+     * The row-major cost matrix.
+     */
+    private final double[] weights;
+
+    /**
+     * Maps each node ID to the node index.
+     */
+    private final Map<Integer, Integer> nodeIndexMap;
+
+    /**
+     * Constructs a dense copy of the input graph. The node indices follow the
+     * iteration order of {@link DirectedGraph#getAllNodes()}.
+     *
+     * @param graph the graph to copy.
+     */
+    public DenseDirectedGraph(final DirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        final int n = graph.size();
+        this.nodeIds = new int[n];
+        this.weights = new double[n * n];
+        this.nodeIndexMap = new HashMap<>(2 * n);
+
+        int index = 0;
+
+        for (final Integer node : graph.getAllNodes()) {
+            nodeIds[index] = node;
+            nodeIndexMap.put(node, index++);
+        }
+
+        Arrays.fill(weights, Double.POSITIVE_INFINITY);
+
+        for (int i = 0; i < n; ++i) {
+            for (final Integer child : graph.getChildrenOf(nodeIds[i])) {
+                weights[i * n + nodeIndexMap.get(child)] =
+                        graph.getEdgeWeight(nodeIds[i], child);
+            }
+        }
+    }
+
+    /**
+     * Constructs a graph from the node IDs and the row-major cost matrix. Both
+     * arrays are copied.
+     *
+     * @param nodeIds the node IDs; the node at index {@code i} has ID
+     *                {@code nodeIds[i]}.
+     * @param weights the row-major cost matrix of length
+     *                {@code nodeIds.length * nodeIds.length}.
+     */
+    public DenseDirectedGraph(final int[] nodeIds, final double[] weights) {
+        Objects.requireNonNull(nodeIds, "The node ID array is null.");
+        Objects.requireNonNull(weights, "The weight array is null.");
+
+        if (weights.length != nodeIds.length * nodeIds.length) {
+            throw new IllegalArgumentException(
+                    "The weight array length " + weights.length +
+                    " does not match the number of nodes " + nodeIds.length +
+                    ".");
+        }
+
+        this.nodeIds = nodeIds.clone();
+        this.weights = weights.clone();
+        this.nodeIndexMap = new HashMap<>(2 * nodeIds.length);
+
+        for (int i = 0; i < nodeIds.length; ++i) {
+            if (nodeIndexMap.put(nodeIds[i], i) != null) {
+                throw new IllegalArgumentException(
+                        "Duplicate node ID " + nodeIds[i] + ".");
+            }
+        }
+    }
+
+    public int size() {
+        return nodeIds.length;
+    }
+
+    /**
+     * Returns the ID of the node at index {@code nodeIndex}.
+     *
+     * @param nodeIndex the node index.
+     * @return the node ID.
+     */
+    public int getNodeId(final int nodeIndex) {
+        return nodeIds[nodeIndex];
+    }
+
+    /**
+     * Returns the index of the node with ID {@code nodeId}.
+     *
+     * @param nodeId the node ID.
+     * @return the node index or -1 if there is no such node.
+     */
+    public int getNodeIndex(final int nodeId) {
+        final Integer index = nodeIndexMap.get(nodeId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the weight of the arc from the node at index {@code tailIndex}
+     * to the node at index {@code headIndex}.
+     *
+     * @param tailIndex the index of the tail node.
+     * @param headIndex the index of the head node.
+     * @return the arc weight or {@link Double#POSITIVE_INFINITY} if there is no
+     *         such arc.
+     */
+    public double getEdgeWeight(final int tailIndex, final int headIndex) {
+        return weights[tailIndex * nodeIds.length + headIndex];
+    }
+
+    /**
+     * Maps the node indices in {@code nodeIndices} back to the node IDs.
+     *
+     * @param nodeIndices the node indices.
+     * @return the list of node IDs.
+     */
+    public List<Integer> toNodeIdList(final int[] nodeIndices) {
+        final List<Integer> nodeIdList = new ArrayList<>(nodeIndices.length);
+
+        for (final int nodeIndex : nodeIndices) {
+            nodeIdList.add(nodeIds[nodeIndex]);
+        }
+
+        return nodeIdList;
+    }
+
+    /**
+     * Converts this graph to a {@link DirectedGraph}. The arcs with infinite
+     * weight are omitted.
+     *
+     * @return a directed graph.
+     */
+    public DirectedGraph toDirectedGraph() {
+        final DirectedGraph graph = new DirectedGraph();
+        final int n = nodeIds.length;
+
+        for (final int nodeId : nodeIds) {
+            graph.addNode(nodeId);
+        }
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                final double weight = weights[i * n + j];
+
+                if (weight != Double.POSITIVE_INFINITY) {
+                    graph.addEdge(nodeIds[i], nodeIds[j], weight);
+                }
+            }
+        }
+
+        return graph;
+    }
+}
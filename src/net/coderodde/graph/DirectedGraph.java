@@ -15,6 +15,12 @@ public class DirectedGraph {
 
     private int edges;
     
+    /**
+     * Counts the modifications of this graph, so that the structures derived
+     * from this graph can tell whether they are stale.
+     */
+    private int modificationCount;
+    
     private final Map<Integer, 
                       Map<Integer, 
                           Double>> parentMap = new LinkedHashMap<>();
@@ -30,6 +36,16 @@ public class DirectedGraph {
     public int getNumberOfEdges() {
         return edges;
     }
+    
+    /**
+     * Returns the number of modifications made to this graph so far. Any
+     * change of the nodes, arcs or arc weights changes the returned value.
+     * 
+     * @return the modification count.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
 
     public boolean addNode(int nodeId) {
         if (parentMap.containsKey(nodeId)) {
@@ -38,6 +54,7 @@ public class DirectedGraph {
 
         parentMap.put(nodeId, new LinkedHashMap<>());
         childMap .put(nodeId, new LinkedHashMap<>());
+        modificationCount++;
         return true;
     }
 
@@ -69,6 +86,7 @@ public class DirectedGraph {
         edges -= mod;
         parents.clear();
         children.clear();
+        modificationCount++;
         return true;
     }
 
@@ -80,6 +98,7 @@ public class DirectedGraph {
         clearNode(nodeId);
         parentMap.remove(nodeId);
         childMap.remove(nodeId);
+        modificationCount++;
         return true;
     }
 
@@ -92,11 +111,17 @@ public class DirectedGraph {
             childMap.get(tailNodeId).put(headNodeId, weight);
             parentMap.get(headNodeId).put(tailNodeId, weight);
             
-            return oldWeight != weight;
+            if (oldWeight != weight) {
+                modificationCount++;
+                return true;
+            }
+            
+            return false;
         } else {
             childMap.get(tailNodeId).put(headNodeId, weight);
             parentMap.get(headNodeId).put(tailNodeId, weight);
             edges++;
+            modificationCount++;
             return true;
         }
     }
@@ -129,6 +154,7 @@ public class DirectedGraph {
         childMap .get(tailNodeId).remove(headNodeId);
         parentMap.get(headNodeId).remove(tailNodeId);
         edges--;
+        modificationCount++;
         return true;
     }
 
@@ -168,5 +194,6 @@ public class DirectedGraph {
         childMap.clear();
         parentMap.clear();
         edges = 0;
+        modificationCount++;
     }
 }
@@ -0,0 +1,146 @@
+package net.coderodde.graph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class implements an immutable snapshot of a {@link DirectedGraph} in
+ * compressed sparse row form. The nodes are remapped to indices
+ * {@code 0, 1, ..., n - 1}, and both the outgoing and the incoming arcs of each
+ * node are stored in contiguous ranges of primitive arrays. This allows the
+ * shortest path algorithms to scan the arcs without hashing or boxing.
+ * <p>
+ * The outgoing arcs of the node at index {@code u} have the arc indices
+ * {@code getChildrenBegin(u), ..., getChildrenEnd(u) - 1}; the incoming arcs
+ * are organized likewise.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class IndexedDirectedGraph {
+
+    private final int[] nodeIds;
+    private final Map<Integer, Integer> nodeIndexMap;
+
+    private final int[] childOffsets;
+    private final int[] children;
+    private final double[] childArcWeights;
+
+    private final int[] parentOffsets;
+    private final int[] parents;
+    private final double[] parentArcWeights;
+
+    /**
+     * Constructs a snapshot of the input graph. The node indices follow the
+     * iteration order of {@link DirectedGraph#getAllNodes()}.
+     *
+     * @param graph the graph to index.
+     */
+    public IndexedDirectedGraph(final DirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        final int n = graph.size();
+        final int m = graph.getNumberOfEdges();
+
+        this.nodeIds = new int[n];
+        this.nodeIndexMap = new HashMap<>(2 * n);
+        this.childOffsets = new int[n + 1];
+        this.children = new int[m];
+        this.childArcWeights = new double[m];
+        this.parentOffsets = new int[n + 1];
+        this.parents = new int[m];
+        this.parentArcWeights = new double[m];
+
+        int index = 0;
+
+        for (final Integer node : graph.getAllNodes()) {
+            nodeIds[index] = node;
+            nodeIndexMap.put(node, index++);
+        }
+
+        int childArc = 0;
+        int parentArc = 0;
+
+        for (int u = 0; u < n; ++u) {
+            final int nodeId = nodeIds[u];
+            childOffsets[u] = childArc;
+            parentOffsets[u] = parentArc;
+
+            for (final Integer child : graph.getChildrenOf(nodeId)) {
+                children[childArc] = nodeIndexMap.get(child);
+                childArcWeights[childArc++] = graph.getEdgeWeight(nodeId,
+                                                                  child);
+            }
+
+            for (final Integer parent : graph.getParentsOf(nodeId)) {
+                parents[parentArc] = nodeIndexMap.get(parent);
+                parentArcWeights[parentArc++] = graph.getEdgeWeight(parent,
+                                                                    nodeId);
+            }
+        }
+
+        childOffsets[n] = childArc;
+        parentOffsets[n] = parentArc;
+    }
+
+    public int size() {
+        return nodeIds.length;
+    }
+
+    public int getNumberOfEdges() {
+        return children.length;
+    }
+
+    /**
+     * Returns the ID of the node at index {@code nodeIndex}.
+     *
+     * @param nodeIndex the node index.
+     * @return the node ID.
+     */
+    public int getNodeId(final int nodeIndex) {
+        return nodeIds[nodeIndex];
+    }
+
+    /**
+     * Returns the index of the node with ID {@code nodeId}.
+     *
+     * @param nodeId the node ID.
+     * @return the node index or -1 if there is no such node.
+     */
+    public int getNodeIndex(final int nodeId) {
+        final Integer index = nodeIndexMap.get(nodeId);
+        return index == null ? -1 : index;
+    }
+
+    public int getChildrenBegin(final int nodeIndex) {
+        return childOffsets[nodeIndex];
+    }
+
+    public int getChildrenEnd(final int nodeIndex) {
+        return childOffsets[nodeIndex + 1];
+    }
+
+    public int getChild(final int arcIndex) {
+        return children[arcIndex];
+    }
+
+    public double getChildArcWeight(final int arcIndex) {
+        return childArcWeights[arcIndex];
+    }
+
+    public int getParentsBegin(final int nodeIndex) {
+        return parentOffsets[nodeIndex];
+    }
+
+    public int getParentsEnd(final int nodeIndex) {
+        return parentOffsets[nodeIndex + 1];
+    }
+
+    public int getParent(final int arcIndex) {
+        return parents[arcIndex];
+    }
+
+    public double getParentArcWeight(final int arcIndex) {
+        return parentArcWeights[arcIndex];
+    }
+}
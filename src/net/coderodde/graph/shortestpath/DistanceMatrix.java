@@ -0,0 +1,178 @@
+package net.coderodde.graph.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class holds the shortest path distances from a list of source nodes to
+ * a list of target nodes in a flat row-major {@code double} array, together
+ * with optional predecessor arrays from which the shortest paths may be
+ * reconstructed on demand.
+ * <p>
+ * The predecessors are stored in one row per source, indexed by the node
+ * indices of the searched graph: the entry of a node is the index of its
+ * predecessor on a shortest path from the source, or -1 if the node is the
+ * source or was not reached.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class DistanceMatrix {
+    
+    private final int[] sourceIds;
+    private final int[] targetIds;
+    private final double[] distances;
+    
+    /**
+     * Maps the node indices of the searched graph to node IDs, or is
+     * {@code null} if there are no predecessors.
+     */
+    private final int[] nodeIds;
+    
+    /**
+     * The node index of each target, or {@code null} if there are no
+     * predecessors.
+     */
+    private final int[] targetIndices;
+    private final int[] predecessors;
+    
+    /**
+     * Constructs a distance matrix without predecessors. The arrays are not
+     * copied.
+     *
+     * @param sourceIds the IDs of the source nodes.
+     * @param targetIds the IDs of the target nodes.
+     * @param distances the distances in row-major order.
+     */
+    public DistanceMatrix(final int[] sourceIds,
+                          final int[] targetIds,
+                          final double[] distances) {
+        this(sourceIds, targetIds, distances, null, null, null);
+    }
+    
+    /**
+     * Constructs a distance matrix with predecessors. The arrays are not
+     * copied.
+     *
+     * @param sourceIds     the IDs of the source nodes.
+     * @param targetIds     the IDs of the target nodes.
+     * @param distances     the distances in row-major order.
+     * @param nodeIds       maps the node indices of the searched graph to node
+     *                      IDs.
+     * @param targetIndices the node index of each target.
+     * @param predecessors  the predecessor index of each node, one row of
+     *                      {@code nodeIds.length} entries per source.
+     */
+    public DistanceMatrix(final int[] sourceIds,
+                          final int[] targetIds,
+                          final double[] distances,
+                          final int[] nodeIds,
+                          final int[] targetIndices,
+                          final int[] predecessors) {
+        this.sourceIds = Objects.requireNonNull(sourceIds,
+                                                "The source array is null.");
+        this.targetIds = Objects.requireNonNull(targetIds,
+                                                "The target array is null.");
+        this.distances = Objects.requireNonNull(distances,
+                                                "The distance array is null.");
+        
+        if (distances.length != sourceIds.length * targetIds.length) {
+            throw new IllegalArgumentException(
+                    "The distance array has " + distances.length +
+                    " entries, expected " +
+                    sourceIds.length * targetIds.length + ".");
+        }
+        
+        if (predecessors != null
+                && (nodeIds == null
+                    || targetIndices == null
+                    || targetIndices.length != targetIds.length
+                    || predecessors.length
+                       != sourceIds.length * nodeIds.length)) {
+            throw new IllegalArgumentException(
+                    "The predecessor arrays do not match the matrix.");
+        }
+        
+        this.nodeIds = predecessors == null ? null : nodeIds;
+        this.targetIndices = predecessors == null ? null : targetIndices;
+        this.predecessors = predecessors;
+    }
+    
+    public int getNumberOfSources() {
+        return sourceIds.length;
+    }
+    
+    public int getNumberOfTargets() {
+        return targetIds.length;
+    }
+    
+    public int getSourceId(final int i) {
+        return sourceIds[i];
+    }
+    
+    public int getTargetId(final int j) {
+        return targetIds[j];
+    }
+    
+    /**
+     * Returns the distance from the {@code i}th source to the {@code j}th
+     * target.
+     *
+     * @param i the source number.
+     * @param j the target number.
+     * @return the distance, or {@link Double#POSITIVE_INFINITY} if the target
+     *         is not reachable from the source.
+     */
+    public double getDistance(final int i, final int j) {
+        return distances[i * targetIds.length + j];
+    }
+    
+    /**
+     * Returns the underlying row-major distance array. The array must not be
+     * modified by the caller.
+     *
+     * @return the distance array.
+     */
+    public double[] getDistances() {
+        return distances;
+    }
+    
+    public boolean hasPredecessors() {
+        return predecessors != null;
+    }
+    
+    /**
+     * Reconstructs a shortest path from the {@code i}th source to the
+     * {@code j}th target.
+     *
+     * @param i the source number.
+     * @param j the target number.
+     * @return the node IDs on a shortest path, or an empty list if the target
+     *         is not reachable from the source.
+     * @throws IllegalStateException if this matrix has no predecessors.
+     */
+    public List<Integer> getPath(final int i, final int j) {
+        if (predecessors == null) {
+            throw new IllegalStateException(
+                    "The distance matrix has no predecessors.");
+        }
+        
+        if (getDistance(i, j) == Double.POSITIVE_INFINITY) {
+            return Collections.<Integer>emptyList();
+        }
+        
+        final int rowOffset = i * nodeIds.length;
+        final List<Integer> path = new ArrayList<>();
+        
+        for (int node = targetIndices[j];
+                node != -1;
+                node = predecessors[rowOffset + node]) {
+            path.add(nodeIds[node]);
+        }
+        
+        Collections.<Integer>reverse(path);
+        return path;
+    }
+}
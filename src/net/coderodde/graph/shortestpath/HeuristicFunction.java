@@ -0,0 +1,23 @@
+package net.coderodde.graph.shortestpath;
+
+/**
+ * This interface defines the API for the heuristic functions estimating the
+ * length of a shortest path between two nodes. In order for a goal-directed
+ * search to return shortest paths, the estimate must be admissible, or, in
+ * other words, it must never exceed the length of an actual shortest path.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public interface HeuristicFunction {
+    
+    /**
+     * Returns a lower bound on the length of a shortest path from the node
+     * {@code node} to the node {@code target}.
+     * 
+     * @param node   the node to estimate from.
+     * @param target the target node.
+     * @return a lower bound on the shortest path length.
+     */
+    public double estimate(final int node, final int target);
+}
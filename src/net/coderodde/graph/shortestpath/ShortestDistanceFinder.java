@@ -0,0 +1,54 @@
+package net.coderodde.graph.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.DirectedGraph;
+
+/**
+ * This interface defines the API for the algorithms computing shortest path
+ * distances without materializing the paths themselves.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public interface ShortestDistanceFinder {
+    
+    /**
+     * Computes the shortest path distances from each node in {@code sources}
+     * to each node in {@code targets}.
+     * 
+     * @param graph             the graph to search.
+     * @param sources           the source nodes.
+     * @param targets           the target nodes.
+     * @param storePredecessors whether to store the predecessors, so that the
+     *                          shortest paths may be reconstructed.
+     * @return the distance matrix.
+     */
+    public DistanceMatrix computeDistances(final DirectedGraph graph,
+                                           final List<Integer> sources,
+                                           final List<Integer> targets,
+                                           final boolean storePredecessors);
+    
+    /**
+     * Computes the shortest path distances from {@code source} to all the
+     * nodes of {@code graph}, in the iteration order of 
+     * {@link DirectedGraph#getAllNodes()}.
+     * 
+     * @param graph             the graph to search.
+     * @param source            the source node.
+     * @param storePredecessors whether to store the predecessors.
+     * @return the distance matrix with a single row.
+     */
+    public default DistanceMatrix computeDistances(
+            final DirectedGraph graph,
+            final Integer source,
+            final boolean storePredecessors) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return computeDistances(graph, 
+                                Collections.<Integer>singletonList(source),
+                                new ArrayList<>(graph.getAllNodes()),
+                                storePredecessors);
+    }
+}
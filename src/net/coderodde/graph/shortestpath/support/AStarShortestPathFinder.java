@@ -0,0 +1,134 @@
+package net.coderodde.graph.shortestpath.support;
+
+import java.util.Collections;
+import java.util.List;
+import net.coderodde.graph.IndexedDirectedGraph;
+import net.coderodde.graph.shortestpath.HeuristicFunction;
+
+/**
+ * This class implements the A* algorithm. The open list is ordered by the
+ * distance from the source plus the estimated distance to the target, as
+ * given by a {@link HeuristicFunction} over the node IDs. If no heuristic
+ * function is given, the estimate is always zero, and the search reduces to
+ * Dijkstra's algorithm.
+ * <p>
+ * The heuristic function needs to be admissible, but not necessarily
+ * consistent: a settled node is reopened whenever a shorter path to it is
+ * found later.
+ * <p>
+ * Note that this class maintains state, so that if you need to run the
+ * algorithm in parallel, make sure that each thread constructs its own instance
+ * of this class.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class AStarShortestPathFinder extends AbstractIndexedShortestPathFinder {
+    
+    private final HeuristicFunction heuristicFunction;
+    private final SearchSpace searchSpace = new SearchSpace();
+    private int numberOfSettledNodes;
+    private int numberOfRelaxedEdges;
+    
+    /**
+     * Constructs a finder without a heuristic function, which searches just
+     * like {@link DijkstraShortestPathFinder}.
+     */
+    public AStarShortestPathFinder() {
+        this(null);
+    }
+    
+    /**
+     * Constructs a finder.
+     *
+     * @param heuristicFunction the admissible heuristic function, or
+     *                          {@code null} for none.
+     */
+    public AStarShortestPathFinder(final HeuristicFunction heuristicFunction) {
+        this.heuristicFunction = heuristicFunction;
+    }
+    
+    @Override
+    protected List<Integer> findShortestPath(final IndexedDirectedGraph graph,
+                                             final int source,
+                                             final int target) {
+        searchSpace.ensureCapacity(graph.size());
+        searchSpace.startSearch();
+        searchSpace.relax(source,
+                          -1,
+                          0.0,
+                          estimate(graph, source, target));
+        numberOfSettledNodes = 0;
+        numberOfRelaxedEdges = 0;
+        
+        while (!searchSpace.isOpenEmpty()) {
+            final int current = searchSpace.settleMinimum();
+            numberOfSettledNodes++;
+            
+            if (current == target) {
+                return searchSpace.tracebackPath(graph, target);
+            }
+            
+            final double distance = searchSpace.getDistance(current);
+            final int end = graph.getChildrenEnd(current);
+            
+            for (int arc = graph.getChildrenBegin(current); arc < end; ++arc) {
+                final int child = graph.getChild(arc);
+                final double tentativeWeight =
+                        distance + graph.getChildArcWeight(arc);
+                
+                numberOfRelaxedEdges++;
+                
+                if (searchSpace.getDistance(child) > tentativeWeight) {
+                    searchSpace.relax(child,
+                                      current,
+                                      tentativeWeight,
+                                      tentativeWeight +
+                                      estimate(graph, child, target));
+                }
+            }
+        }
+        
+        return Collections.<Integer>emptyList();
+    }
+    
+    /**
+     * Returns the number of nodes settled by the last query. A reopened node
+     * is counted each time it is settled.
+     *
+     * @return the number of settled nodes.
+     */
+    public int getNumberOfSettledNodes() {
+        return numberOfSettledNodes;
+    }
+    
+    /**
+     * Returns the number of arcs relaxed by the last query.
+     *
+     * @return the number of relaxed arcs.
+     */
+    public int getNumberOfRelaxedEdges() {
+        return numberOfRelaxedEdges;
+    }
+    
+    /**
+     * Returns a lower bound on the distance from {@code node} to
+     * {@code target}. The subclasses may override this method in order to
+     * estimate directly over the node indices.
+     *
+     * @param graph  the searched graph.
+     * @param node   the index of the node to estimate from.
+     * @param target the index of the target node.
+     * @return a lower bound on the shortest path length.
+     */
+    protected double estimate(final IndexedDirectedGraph graph,
+                              final int node,
+                              final int target) {
+        if (heuristicFunction == null) {
+            return 0.0;
+        }
+        
+        return heuristicFunction.estimate(graph.getNodeId(node),
+                                          graph.getNodeId(target));
+    }
+}
@@ -0,0 +1,107 @@
+package net.coderodde.graph.shortestpath.support;
+
+import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.IndexedDirectedGraph;
+import net.coderodde.graph.shortestpath.ShortestPathFinder;
+
+/**
+ * This class implements the parts shared by the shortest path finders that
+ * search an indexed snapshot of the input graph: the validation of the query,
+ * and the caching of the snapshot. The snapshot of the last searched graph is
+ * kept between the queries, and it is rebuilt whenever the finder is given
+ * another graph or the graph has been modified.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+abstract class AbstractIndexedShortestPathFinder implements ShortestPathFinder {
+    
+    private DirectedGraph graph;
+    private int graphModificationCount;
+    private IndexedDirectedGraph indexedGraph;
+    
+    @Override
+    public List<Integer> findShortestPath(final DirectedGraph graph,
+                                          final Integer source,
+                                          final Integer target) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        checkNode(graph, source, "The source node");
+        checkNode(graph, target, "The target node");
+        
+        final IndexedDirectedGraph indexedGraph = getIndexedGraph(graph);
+        return findShortestPath(indexedGraph,
+                                indexedGraph.getNodeIndex(source),
+                                indexedGraph.getNodeIndex(target));
+    }
+    
+    /**
+     * Searches for a shortest path between two node indices of the snapshot.
+     *
+     * @param graph  the snapshot of the input graph.
+     * @param source the index of the source node.
+     * @param target the index of the target node.
+     * @return the node IDs on the shortest path, or an empty list if the
+     *         target is not reachable from the source.
+     */
+    protected abstract List<Integer> findShortestPath(
+            final IndexedDirectedGraph graph,
+            final int source,
+            final int target);
+    
+    /**
+     * Returns the snapshot of {@code graph}, building it if the cached one is
+     * out of date.
+     *
+     * @param graph the graph to search.
+     * @return the snapshot of the graph.
+     */
+    protected final IndexedDirectedGraph getIndexedGraph(
+            final DirectedGraph graph) {
+        if (this.graph != graph
+                || graphModificationCount != graph.getModificationCount()) {
+            this.graph = graph;
+            this.graphModificationCount = graph.getModificationCount();
+            this.indexedGraph = new IndexedDirectedGraph(graph);
+        }
+        
+        return indexedGraph;
+    }
+    
+    /**
+     * Checks that {@code node} is not {@code null} and appears in
+     * {@code graph}.
+     * 
+     * @param graph the graph.
+     * @param node  the node to check.
+     * @param name  the name of the node in the exception messages.
+     */
+    static void checkNode(final DirectedGraph graph,
+                          final Integer node,
+                          final String name) {
+        Objects.requireNonNull(node, name + " is null.");
+        
+        if (!graph.hasNode(node)) {
+            throw new IllegalArgumentException(
+                    name + " does not appear in the input graph.");
+        }
+    }
+    
+    /**
+     * Checks all the nodes in {@code nodes} as {@link #checkNode} does.
+     * 
+     * @param graph the graph.
+     * @param nodes the nodes to check.
+     * @param name  the name of the nodes in the exception messages.
+     */
+    static void checkNodes(final DirectedGraph graph,
+                           final List<Integer> nodes,
+                           final String name) {
+        Objects.requireNonNull(nodes, "The " + name + " list is null.");
+        
+        for (final Integer node : nodes) {
+            checkNode(graph, node, "A " + name + " node");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package net.coderodde.graph.shortestpath.support;
+
+import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.IndexedDirectedGraph;
+
+/**
+ * This class implements the ALT algorithm, which is A* guided by the landmark
+ * lower bounds of a {@link LandmarkIndex}. The index is built on the first
+ * query against a graph and kept for as long as the graph remains unmodified,
+ * so that its cost is amortized over all the queries against the same graph.
+ * <p>
+ * The index may also be built once up front and handed to many finders, for
+ * example, to the finders a
+ * {@link net.coderodde.graph.tsp.TSPGraphPreprocessor} creates for its row
+ * blocks:
+ * <pre>
+ *     final LandmarkIndex index = new LandmarkIndex(graph, 16);
+ *     new TSPGraphPreprocessor(CompletionMode.PAIRWISE,
+ *                              () -&gt; new AltShortestPathFinder(index));
+ * </pre>
+ * The finders use the shared index for as long as they search the graph it
+ * was built over and the graph remains unmodified; given another graph, a
+ * finder builds an index of its own with the same number of landmarks.
+ * <p>
+ * Note that this class maintains state, so that if you need to run the
+ * algorithm in parallel, make sure that each thread constructs its own instance
+ * of this class.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class AltShortestPathFinder extends AStarShortestPathFinder {
+    
+    /**
+     * The default number of landmarks.
+     */
+    private static final int DEFAULT_NUMBER_OF_LANDMARKS = 16;
+    
+    private final int numberOfLandmarks;
+    private LandmarkIndex landmarkIndex;
+    
+    /**
+     * Constructs a finder with the default number of landmarks.
+     */
+    public AltShortestPathFinder() {
+        this(DEFAULT_NUMBER_OF_LANDMARKS);
+    }
+    
+    /**
+     * Constructs a finder.
+     *
+     * @param numberOfLandmarks the number of landmarks to select per graph.
+     */
+    public AltShortestPathFinder(final int numberOfLandmarks) {
+        if (numberOfLandmarks < 1) {
+            throw new IllegalArgumentException(
+                    "The number of landmarks must be at least 1, received " +
+                    numberOfLandmarks + ".");
+        }
+        
+        this.numberOfLandmarks = numberOfLandmarks;
+    }
+    
+    /**
+     * Constructs a finder over a prebuilt landmark index. The index should be
+     * built by {@link LandmarkIndex#LandmarkIndex(DirectedGraph, int)}, so that
+     * the finder can tell whether it matches the searched graph.
+     *
+     * @param landmarkIndex the landmark index.
+     */
+    public AltShortestPathFinder(final LandmarkIndex landmarkIndex) {
+        this.landmarkIndex = Objects.requireNonNull(
+                landmarkIndex,
+                "The landmark index is null.");
+        this.numberOfLandmarks = landmarkIndex.getNumberOfLandmarks();
+    }
+    
+    /**
+     * Returns the landmark index of the last searched graph, or {@code null}
+     * if no graph has been searched yet.
+     *
+     * @return the landmark index.
+     */
+    public LandmarkIndex getLandmarkIndex() {
+        return landmarkIndex;
+    }
+    
+    @Override
+    public List<Integer> findShortestPath(final DirectedGraph graph,
+                                          final Integer source,
+                                          final Integer target) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        checkNode(graph, source, "The source node");
+        checkNode(graph, target, "The target node");
+        
+        if (landmarkIndex == null || !landmarkIndex.isBuiltFor(graph)) {
+            landmarkIndex = new LandmarkIndex(graph, numberOfLandmarks);
+        }
+        
+        // Search the snapshot of the index, whose node indices the landmark
+        // distances refer to.
+        final IndexedDirectedGraph indexedGraph = landmarkIndex.getGraph();
+        return findShortestPath(indexedGraph,
+                                indexedGraph.getNodeIndex(source),
+                                indexedGraph.getNodeIndex(target));
+    }
+    
+    @Override
+    protected List<Integer> findShortestPath(final IndexedDirectedGraph graph,
+                                             final int source,
+                                             final int target) {
+        if (landmarkIndex == null || landmarkIndex.getGraph() != graph) {
+            landmarkIndex = new LandmarkIndex(graph, numberOfLandmarks);
+        }
+        
+        return super.findShortestPath(graph, source, target);
+    }
+    
+    @Override
+    protected double estimate(final IndexedDirectedGraph graph,
+                              final int node,
+                              final int target) {
+        return landmarkIndex.getLowerBound(node, target);
+    }
+}
@@ -0,0 +1,180 @@
+package net.coderodde.graph.shortestpath.support;
+
+import java.util.Collections;
+import java.util.List;
+import net.coderodde.graph.IndexedDirectedGraph;
+
+/**
+ * This class implements the bidirectional Dijkstra's algorithm. The forward
+ * search grows from the source over the children, and the backward search
+ * grows from the target over the parents. Each step expands the search with
+ * the smaller open list. Whenever an arc is relaxed to a node already reached
+ * by the opposite search, the length of the path through the node is compared
+ * against the shortest path found so far. The searches stop as soon as the
+ * sum of the lowest distances in both open lists reaches the length of that
+ * path, since no path through an unsettled node can be shorter.
+ * <p>
+ * Note that this class maintains state, so that if you need to run the
+ * algorithm in parallel, make sure that each thread constructs its own instance
+ * of this class.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class BidirectionalDijkstraShortestPathFinder
+extends AbstractIndexedShortestPathFinder {
+    
+    private final SearchSpace forwardSearchSpace = new SearchSpace();
+    private final SearchSpace backwardSearchSpace = new SearchSpace();
+    private double bestPathLength;
+    private int touchNode;
+    private int numberOfSettledNodes;
+    private int numberOfRelaxedEdges;
+    
+    @Override
+    protected List<Integer> findShortestPath(final IndexedDirectedGraph graph,
+                                             final int source,
+                                             final int target) {
+        forwardSearchSpace.ensureCapacity(graph.size());
+        backwardSearchSpace.ensureCapacity(graph.size());
+        forwardSearchSpace.startSearch();
+        backwardSearchSpace.startSearch();
+        forwardSearchSpace.relax(source, -1, 0.0, 0.0);
+        backwardSearchSpace.relax(target, -1, 0.0, 0.0);
+        numberOfSettledNodes = 0;
+        numberOfRelaxedEdges = 0;
+        
+        if (source == target) {
+            return Collections.<Integer>singletonList(graph.getNodeId(source));
+        }
+        
+        bestPathLength = Double.POSITIVE_INFINITY;
+        touchNode = -1;
+        
+        while (!forwardSearchSpace.isOpenEmpty()
+                && !backwardSearchSpace.isOpenEmpty()) {
+            final double forwardMinimum =
+                    forwardSearchSpace.getDistance(
+                            forwardSearchSpace.peekMinimum());
+            final double backwardMinimum =
+                    backwardSearchSpace.getDistance(
+                            backwardSearchSpace.peekMinimum());
+            
+            if (forwardMinimum + backwardMinimum >= bestPathLength) {
+                break;
+            }
+            
+            if (forwardSearchSpace.getOpenSize()
+                    <= backwardSearchSpace.getOpenSize()) {
+                expandForwardSearch(graph);
+            } else {
+                expandBackwardSearch(graph);
+            }
+        }
+        
+        if (touchNode == -1) {
+            return Collections.<Integer>emptyList();
+        }
+        
+        return tracebackPath(graph);
+    }
+    
+    /**
+     * Returns the number of nodes settled by both searches of the last query.
+     *
+     * @return the number of settled nodes.
+     */
+    public int getNumberOfSettledNodes() {
+        return numberOfSettledNodes;
+    }
+    
+    /**
+     * Returns the number of arcs relaxed by both searches of the last query.
+     *
+     * @return the number of relaxed arcs.
+     */
+    public int getNumberOfRelaxedEdges() {
+        return numberOfRelaxedEdges;
+    }
+    
+    private void expandForwardSearch(final IndexedDirectedGraph graph) {
+        final int current = forwardSearchSpace.settleMinimum();
+        final double distance = forwardSearchSpace.getDistance(current);
+        final int end = graph.getChildrenEnd(current);
+        numberOfSettledNodes++;
+        
+        for (int arc = graph.getChildrenBegin(current); arc < end; ++arc) {
+            final int child = graph.getChild(arc);
+            
+            if (forwardSearchSpace.isSettled(child)) {
+                continue;
+            }
+            
+            numberOfRelaxedEdges++;
+            final double tentativeWeight =
+                    distance + graph.getChildArcWeight(arc);
+            
+            if (forwardSearchSpace.relax(child,
+                                         current,
+                                         tentativeWeight,
+                                         tentativeWeight)) {
+                updateBestPath(child);
+            }
+        }
+    }
+    
+    private void expandBackwardSearch(final IndexedDirectedGraph graph) {
+        final int current = backwardSearchSpace.settleMinimum();
+        final double distance = backwardSearchSpace.getDistance(current);
+        final int end = graph.getParentsEnd(current);
+        numberOfSettledNodes++;
+        
+        for (int arc = graph.getParentsBegin(current); arc < end; ++arc) {
+            final int parent = graph.getParent(arc);
+            
+            if (backwardSearchSpace.isSettled(parent)) {
+                continue;
+            }
+            
+            numberOfRelaxedEdges++;
+            final double tentativeWeight =
+                    distance + graph.getParentArcWeight(arc);
+            
+            if (backwardSearchSpace.relax(parent,
+                                          current,
+                                          tentativeWeight,
+                                          tentativeWeight)) {
+                updateBestPath(parent);
+            }
+        }
+    }
+    
+    /**
+     * Checks whether the path through {@code node} is shorter than the
+     * shortest path found so far.
+     *
+     * @param node the node reached by one of the searches.
+     */
+    private void updateBestPath(final int node) {
+        final double pathLength = forwardSearchSpace.getDistance(node) +
+                                  backwardSearchSpace.getDistance(node);
+        
+        if (bestPathLength > pathLength) {
+            bestPathLength = pathLength;
+            touchNode = node;
+        }
+    }
+    
+    private List<Integer> tracebackPath(final IndexedDirectedGraph graph) {
+        final List<Integer> nodeList =
+                forwardSearchSpace.tracebackPath(graph, touchNode);
+        int current = backwardSearchSpace.getParent(touchNode);
+        
+        while (current != -1) {
+            nodeList.add(graph.getNodeId(current));
+            current = backwardSearchSpace.getParent(current);
+        }
+        
+        return nodeList;
+    }
+}
@@ -0,0 +1,163 @@
+package net.coderodde.graph.shortestpath.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.shortestpath.DistanceMatrix;
+import net.coderodde.graph.shortestpath.ShortestDistanceFinder;
+import net.coderodde.graph.shortestpath.ShortestPathFinder;
+
+/**
+ * This class puts a {@link DistanceRowCache} in front of another shortest
+ * distance finder. A distance query looks up the row of each source in the
+ * cache; the rows that are missing are computed by the underlying finder
+ * against all the nodes of the graph, so that they serve any later query
+ * regardless of its targets, and are put in the cache. The queries storing the
+ * predecessors and the point-to-point queries bypass the cache.
+ * <p>
+ * In order to share the rows between the preprocessing jobs, pass a factory
+ * creating the instances of this class over a single cache to a
+ * {@link net.coderodde.graph.tsp.TSPGraphPreprocessor} in the
+ * {@code PAIRWISE} completion mode.
+ * <p>
+ * Note that this class maintains the state of the underlying finder, so that
+ * if you need to run the algorithm in parallel, make sure that each thread
+ * constructs its own instance of this class. The cache itself may be shared.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class CachingShortestDistanceFinder
+implements ShortestPathFinder, ShortestDistanceFinder {
+    
+    private final DistanceRowCache cache;
+    private final ShortestPathFinder shortestPathFinder;
+    private final ShortestDistanceFinder shortestDistanceFinder;
+    
+    /**
+     * Constructs a finder computing the missing rows by Dijkstra's algorithm.
+     *
+     * @param cache the cache of the rows.
+     */
+    public CachingShortestDistanceFinder(final DistanceRowCache cache) {
+        this(cache, new DijkstraShortestPathFinder());
+    }
+    
+    /**
+     * Constructs a finder.
+     *
+     * @param <F>    the type of the underlying finder.
+     * @param cache  the cache of the rows.
+     * @param finder the finder computing the missing rows and answering the
+     *               queries that bypass the cache.
+     */
+    public <F extends ShortestPathFinder & ShortestDistanceFinder>
+        CachingShortestDistanceFinder(final DistanceRowCache cache,
+                                      final F finder) {
+        this.cache = Objects.requireNonNull(cache, "The cache is null.");
+        this.shortestPathFinder =
+                Objects.requireNonNull(finder, "The finder is null.");
+        this.shortestDistanceFinder = finder;
+    }
+    
+    @Override
+    public List<Integer> findShortestPath(final DirectedGraph graph,
+                                          final Integer source,
+                                          final Integer target) {
+        return shortestPathFinder.findShortestPath(graph, source, target);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Computes only the rows of the sources missing from the cache.
+     */
+    @Override
+    public DistanceMatrix computeDistances(final DirectedGraph graph,
+                                           final List<Integer> sources,
+                                           final List<Integer> targets,
+                                           final boolean storePredecessors) {
+        if (storePredecessors) {
+            return shortestDistanceFinder.computeDistances(graph,
+                                                           sources,
+                                                           targets,
+                                                           true);
+        }
+        
+        Objects.requireNonNull(graph, "The input graph is null.");
+        AbstractIndexedShortestPathFinder.checkNodes(graph, sources, "source");
+        AbstractIndexedShortestPathFinder.checkNodes(graph, targets, "target");
+        
+        final DistanceRowCache.Snapshot snapshot = cache.getSnapshot(graph);
+        final int numberOfSources = sources.size();
+        final int numberOfTargets = targets.size();
+        final int[] sourceIds = new int[numberOfSources];
+        final int[] targetIds = new int[numberOfTargets];
+        final int[] targetColumns = new int[numberOfTargets];
+        final Map<Integer, double[]> rowMap = new HashMap<>();
+        final List<Integer> missingSources = new ArrayList<>();
+        
+        for (int i = 0; i < numberOfSources; ++i) {
+            sourceIds[i] = sources.get(i);
+            
+            if (!rowMap.containsKey(sourceIds[i])) {
+                final double[] row = cache.getRow(snapshot, sourceIds[i]);
+                rowMap.put(sourceIds[i], row);
+                
+                if (row == null) {
+                    missingSources.add(sourceIds[i]);
+                }
+            }
+        }
+        
+        if (!missingSources.isEmpty()) {
+            loadMissingRows(snapshot, missingSources, rowMap);
+        }
+        
+        for (int j = 0; j < numberOfTargets; ++j) {
+            targetIds[j] = targets.get(j);
+            targetColumns[j] = snapshot.columnMap.get(targetIds[j]);
+        }
+        
+        final double[] distances = new double[numberOfSources *
+                                              numberOfTargets];
+        
+        for (int i = 0; i < numberOfSources; ++i) {
+            final double[] row = rowMap.get(sourceIds[i]);
+            
+            for (int j = 0; j < numberOfTargets; ++j) {
+                distances[i * numberOfTargets + j] = row[targetColumns[j]];
+            }
+        }
+        
+        return new DistanceMatrix(sourceIds, targetIds, distances);
+    }
+    
+    /**
+     * Computes the full rows of the sources in {@code missingSources}, and
+     * puts them both in the cache and in {@code rowMap}.
+     */
+    private void loadMissingRows(final DistanceRowCache.Snapshot snapshot,
+                                 final List<Integer> missingSources,
+                                 final Map<Integer, double[]> rowMap) {
+        final int n = snapshot.nodeIds.size();
+        final double[] distances =
+                shortestDistanceFinder.computeDistances(snapshot.graph,
+                                                        missingSources,
+                                                        snapshot.nodeIds,
+                                                        false)
+                                      .getDistances();
+        
+        for (int i = 0; i < missingSources.size(); ++i) {
+            final double[] row = Arrays.copyOfRange(distances,
+                                                    i * n,
+                                                    (i + 1) * n);
+            rowMap.put(missingSources.get(i), row);
+            cache.putRow(snapshot, missingSources.get(i), row);
+        }
+    }
+}
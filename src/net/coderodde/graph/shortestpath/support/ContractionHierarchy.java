@@ -0,0 +1,216 @@
+package net.coderodde.graph.shortestpath.support;
+
+import java.util.Arrays;
+import java.util.Objects;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.IndexedDirectedGraph;
+
+/**
+ * This class implements a contraction hierarchy over a {@link DirectedGraph}.
+ * The nodes are ranked by contracting them one by one; whenever a contraction
+ * would destroy a shortest path, a shortcut arc is added that bypasses the
+ * contracted node. Afterwards, every shortest path can be found by a search
+ * that only ascends in rank from the source and a search that only ascends in
+ * rank backwards from the target. Since the upward search spaces are small,
+ * the queries are orders of magnitude faster than plain Dijkstra's algorithm
+ * on road-like graphs.
+ * <p>
+ * Each shortcut remembers the two arcs it replaces, so that the paths over
+ * the shortcuts may be unpacked into the paths of the original graph.
+ * <p>
+ * The hierarchy is immutable once built, so it may be shared between threads
+ * and reused for as long as the input graph remains unmodified. Use
+ * {@link ContractionHierarchyShortestPathFinder} to query it.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class ContractionHierarchy {
+    
+    private final DirectedGraph graph;
+    private final int graphModificationCount;
+    private final IndexedDirectedGraph indexedGraph;
+    private final int[] rank;
+    private final int numberOfShortcuts;
+    
+    private final int[] arcTail;
+    private final int[] arcHead;
+    private final double[] arcWeight;
+    private final int[] arcFirst;
+    private final int[] arcSecond;
+    
+    /**
+     * The upward arcs leaving each node, in compressed sparse row format.
+     */
+    private final int[] forwardBegin;
+    private final int[] forwardArcs;
+    
+    /**
+     * The upward arcs entering each node, in compressed sparse row format.
+     */
+    private final int[] backwardBegin;
+    private final int[] backwardArcs;
+    
+    /**
+     * Builds the contraction hierarchy of {@code graph}.
+     *
+     * @param graph the graph to preprocess.
+     */
+    public ContractionHierarchy(final DirectedGraph graph) {
+        this.graph = Objects.requireNonNull(graph, "The input graph is null.");
+        this.graphModificationCount = graph.getModificationCount();
+        this.indexedGraph = new IndexedDirectedGraph(graph);
+        
+        final NodeContractor contractor = new NodeContractor(indexedGraph);
+        contractor.contract();
+        
+        final int n = indexedGraph.size();
+        this.rank = contractor.rank;
+        this.numberOfShortcuts = contractor.numberOfShortcuts;
+        this.arcTail = Arrays.copyOf(contractor.arcTail,
+                                     contractor.numberOfArcs);
+        this.arcHead = Arrays.copyOf(contractor.arcHead,
+                                     contractor.numberOfArcs);
+        this.arcWeight = Arrays.copyOf(contractor.arcWeight,
+                                       contractor.numberOfArcs);
+        this.arcFirst = Arrays.copyOf(contractor.arcFirst,
+                                      contractor.numberOfArcs);
+        this.arcSecond = Arrays.copyOf(contractor.arcSecond,
+                                       contractor.numberOfArcs);
+        this.forwardBegin = new int[n + 1];
+        this.backwardBegin = new int[n + 1];
+        this.forwardArcs = toCompressedRows(contractor.outArcs, forwardBegin);
+        this.backwardArcs = toCompressedRows(contractor.inArcs, backwardBegin);
+    }
+    
+    /**
+     * Checks whether this hierarchy describes the current state of
+     * {@code graph}.
+     *
+     * @param graph the graph to check.
+     * @return {@code true} if this hierarchy was built for {@code graph} and
+     *         the graph has not been modified since.
+     */
+    public boolean isBuiltFor(final DirectedGraph graph) {
+        return this.graph == graph
+                && graphModificationCount == graph.getModificationCount();
+    }
+    
+    /**
+     * Returns the number of nodes in the hierarchy.
+     *
+     * @return the number of nodes.
+     */
+    public int size() {
+        return rank.length;
+    }
+    
+    /**
+     * Returns the number of shortcut arcs in the hierarchy.
+     *
+     * @return the number of shortcuts.
+     */
+    public int getNumberOfShortcuts() {
+        return numberOfShortcuts;
+    }
+    
+    /**
+     * Returns the index of the node with ID {@code nodeId}.
+     *
+     * @param nodeId the node ID.
+     * @return the node index or -1 if the node is not in the hierarchy.
+     */
+    public int getNodeIndex(final int nodeId) {
+        return indexedGraph.getNodeIndex(nodeId);
+    }
+    
+    /**
+     * Returns the ID of the node with index {@code index}.
+     *
+     * @param index the node index.
+     * @return the node ID.
+     */
+    public int getNodeId(final int index) {
+        return indexedGraph.getNodeId(index);
+    }
+    
+    /**
+     * Returns the rank of a node. The nodes of lower rank were contracted
+     * earlier.
+     *
+     * @param index the node index.
+     * @return the rank of the node.
+     */
+    public int getRank(final int index) {
+        return rank[index];
+    }
+    
+    int getForwardBegin(final int node) {
+        return forwardBegin[node];
+    }
+    
+    int getForwardEnd(final int node) {
+        return forwardBegin[node + 1];
+    }
+    
+    int getForwardArc(final int i) {
+        return forwardArcs[i];
+    }
+    
+    int getBackwardBegin(final int node) {
+        return backwardBegin[node];
+    }
+    
+    int getBackwardEnd(final int node) {
+        return backwardBegin[node + 1];
+    }
+    
+    int getBackwardArc(final int i) {
+        return backwardArcs[i];
+    }
+    
+    int getArcTail(final int arc) {
+        return arcTail[arc];
+    }
+    
+    int getArcHead(final int arc) {
+        return arcHead[arc];
+    }
+    
+    double getArcWeight(final int arc) {
+        return arcWeight[arc];
+    }
+    
+    /**
+     * Returns the first of the two arcs replaced by the shortcut {@code arc},
+     * or -1 if {@code arc} is an original arc.
+     */
+    int getArcFirst(final int arc) {
+        return arcFirst[arc];
+    }
+    
+    /**
+     * Returns the second of the two arcs replaced by the shortcut
+     * {@code arc}, or -1 if {@code arc} is an original arc.
+     */
+    int getArcSecond(final int arc) {
+        return arcSecond[arc];
+    }
+    
+    private static int[] toCompressedRows(final NodeContractor.IntList[] lists,
+                                          final int[] begin) {
+        for (int node = 0; node < lists.length; ++node) {
+            begin[node + 1] = begin[node] + lists[node].size();
+        }
+        
+        final int[] arcs = new int[begin[lists.length]];
+        
+        for (int node = 0; node < lists.length; ++node) {
+            for (int i = 0; i < lists[node].size(); ++i) {
+                arcs[begin[node] + i] = lists[node].get(i);
+            }
+        }
+        
+        return arcs;
+    }
+}
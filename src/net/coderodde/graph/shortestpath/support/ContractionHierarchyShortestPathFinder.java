@@ -0,0 +1,500 @@
+package net.coderodde.graph.shortestpath.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.shortestpath.DistanceMatrix;
+import net.coderodde.graph.shortestpath.ShortestDistanceFinder;
+import net.coderodde.graph.shortestpath.ShortestPathFinder;
+
+/**
+ * This class implements the queries against a {@link ContractionHierarchy}.
+ * A point-to-point query runs a bidirectional Dijkstra's algorithm in which
+ * both searches only ascend in rank; a search stops as soon as its lowest
+ * distance is no less than the shortest path found so far. The found path is
+ * unpacked into the arcs of the original graph.
+ * <p>
+ * A many-to-many distance table is computed with buckets: first, an upward
+ * backward search is run from each target, storing the distance to the target
+ * in the bucket of each node it settles; then, an upward forward search is run
+ * from each source, scanning the buckets of each node it settles. Hence the
+ * table costs {@code |S| + |T|} small searches instead of {@code |S|} full
+ * ones.
+ * <p>
+ * All the searches stall on demand: a node {@code v} settled by a forward
+ * search is not expanded if some higher ranked node {@code u} with an arc
+ * {@code u -> v} has been reached with {@code d(u) + w(u, v) < d(v)}, since no
+ * shortest path then passes {@code v} upward with the distance {@code d(v)}.
+ * The backward searches are symmetric. A stalled node gets no bucket entries
+ * and its buckets are not scanned.
+ * <p>
+ * If the hierarchy does not describe the current state of the queried graph,
+ * it is rebuilt before the query. Note that this class maintains state, so
+ * that if you need to run the algorithm in parallel, make sure that each
+ * thread constructs its own instance of this class. (The hierarchy itself may
+ * be shared.)
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class ContractionHierarchyShortestPathFinder
+implements ShortestPathFinder, ShortestDistanceFinder {
+    
+    private ContractionHierarchy hierarchy;
+    private final SearchSpace forwardSearchSpace = new SearchSpace();
+    private final SearchSpace backwardSearchSpace = new SearchSpace();
+    
+    // The buckets of the many-to-many queries. Each bucket is a linked list
+    // of entries, starting at 'bucketHeads[node]'.
+    private int[] bucketHeads;
+    private int[] entryNext = new int[16];
+    private int[] entryTarget = new int[16];
+    private double[] entryDistance = new double[16];
+    private int numberOfEntries;
+    
+    /**
+     * Constructs a finder that builds the hierarchy on the first query.
+     */
+    public ContractionHierarchyShortestPathFinder() {}
+    
+    /**
+     * Constructs a finder over a prebuilt hierarchy.
+     *
+     * @param hierarchy the contraction hierarchy.
+     */
+    public ContractionHierarchyShortestPathFinder(
+            final ContractionHierarchy hierarchy) {
+        this.hierarchy = Objects.requireNonNull(hierarchy,
+                                                "The hierarchy is null.");
+    }
+    
+    /**
+     * Returns the hierarchy used by the last query, or {@code null} if none
+     * has been built yet.
+     *
+     * @return the contraction hierarchy.
+     */
+    public ContractionHierarchy getHierarchy() {
+        return hierarchy;
+    }
+    
+    @Override
+    public List<Integer> findShortestPath(final DirectedGraph graph,
+                                          final Integer source,
+                                          final Integer target) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        AbstractIndexedShortestPathFinder.checkNode(graph,
+                                                    source,
+                                                    "The source node");
+        AbstractIndexedShortestPathFinder.checkNode(graph,
+                                                    target,
+                                                    "The target node");
+        loadHierarchy(graph);
+        
+        final int sourceIndex = hierarchy.getNodeIndex(source);
+        final int targetIndex = hierarchy.getNodeIndex(target);
+        
+        if (sourceIndex == targetIndex) {
+            return Collections.<Integer>singletonList(source);
+        }
+        
+        forwardSearchSpace.startSearch();
+        backwardSearchSpace.startSearch();
+        forwardSearchSpace.relax(sourceIndex, -1, 0.0, 0.0);
+        backwardSearchSpace.relax(targetIndex, -1, 0.0, 0.0);
+        
+        double bestPathLength = Double.POSITIVE_INFINITY;
+        int touchNode = -1;
+        
+        for (;;) {
+            final boolean forwardActive =
+                    isActive(forwardSearchSpace, bestPathLength);
+            final boolean backwardActive =
+                    isActive(backwardSearchSpace, bestPathLength);
+            
+            if (!forwardActive && !backwardActive) {
+                break;
+            }
+            
+            final int node;
+            
+            if (forwardActive && (!backwardActive
+                    || forwardSearchSpace.getOpenSize()
+                    <= backwardSearchSpace.getOpenSize())) {
+                node = forwardSearchSpace.settleMinimum();
+                relaxUpward(forwardSearchSpace, node, true);
+            } else {
+                node = backwardSearchSpace.settleMinimum();
+                relaxUpward(backwardSearchSpace, node, false);
+            }
+            
+            final double pathLength =
+                    forwardSearchSpace.getDistance(node) +
+                    backwardSearchSpace.getDistance(node);
+            
+            if (bestPathLength > pathLength) {
+                bestPathLength = pathLength;
+                touchNode = node;
+            }
+        }
+        
+        if (touchNode == -1) {
+            return Collections.<Integer>emptyList();
+        }
+        
+        return unpackPath(sourceIndex, touchNode);
+    }
+    
+    /**
+     * Computes the shortest path distances from each node in {@code sources}
+     * to each node in {@code targets}.
+     *
+     * @param graph   the graph to search.
+     * @param sources the source nodes.
+     * @param targets the target nodes.
+     * @return the distance table in row-major order: the distance from
+     *         {@code sources.get(i)} to {@code targets.get(j)} is at index
+     *         {@code i * targets.size() + j}. The unreachable pairs have the
+     *         distance {@link Double#POSITIVE_INFINITY}.
+     */
+    public double[] computeDistanceTable(final DirectedGraph graph,
+                                         final List<Integer> sources,
+                                         final List<Integer> targets) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        AbstractIndexedShortestPathFinder.checkNodes(graph, sources, "source");
+        AbstractIndexedShortestPathFinder.checkNodes(graph, targets, "target");
+        
+        loadHierarchy(graph);
+        
+        final int numberOfTargets = targets.size();
+        final double[] table = new double[sources.size() * numberOfTargets];
+        final List<Integer> bucketNodes = new ArrayList<>();
+        
+        Arrays.fill(table, Double.POSITIVE_INFINITY);
+        numberOfEntries = 0;
+        
+        for (int j = 0; j < numberOfTargets; ++j) {
+            backwardSearchSpace.startSearch();
+            backwardSearchSpace.relax(hierarchy.getNodeIndex(targets.get(j)),
+                                      -1,
+                                      0.0,
+                                      0.0);
+            
+            while (!backwardSearchSpace.isOpenEmpty()) {
+                final int node = backwardSearchSpace.settleMinimum();
+                
+                if (!relaxUpward(backwardSearchSpace, node, false)) {
+                    continue;
+                }
+                
+                if (bucketHeads[node] == -1) {
+                    bucketNodes.add(node);
+                }
+                
+                addBucketEntry(node, j, backwardSearchSpace.getDistance(node));
+            }
+        }
+        
+        for (int i = 0; i < sources.size(); ++i) {
+            final int rowOffset = i * numberOfTargets;
+            
+            forwardSearchSpace.startSearch();
+            forwardSearchSpace.relax(hierarchy.getNodeIndex(sources.get(i)),
+                                     -1,
+                                     0.0,
+                                     0.0);
+            
+            while (!forwardSearchSpace.isOpenEmpty()) {
+                final int node = forwardSearchSpace.settleMinimum();
+                
+                if (!relaxUpward(forwardSearchSpace, node, true)) {
+                    continue;
+                }
+                
+                final double distance = forwardSearchSpace.getDistance(node);
+                
+                for (int entry = bucketHeads[node];
+                        entry != -1;
+                        entry = entryNext[entry]) {
+                    final int index = rowOffset + entryTarget[entry];
+                    table[index] = Math.min(table[index],
+                                            distance + entryDistance[entry]);
+                }
+            }
+        }
+        
+        for (final int node : bucketNodes) {
+            bucketHeads[node] = -1;
+        }
+        
+        return table;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The distances come from {@link #computeDistanceTable}. Since the upward
+     * searches do not form shortest path trees of the original graph, the
+     * predecessors, if requested, are filled in by unpacking a point-to-point
+     * query for each pair. The paths from a source are written one after
+     * another, and each of them is written all the way back to the source,
+     * so that following the predecessors from any target always leads back to
+     * the source along a shortest path.
+     */
+    @Override
+    public DistanceMatrix computeDistances(final DirectedGraph graph,
+                                           final List<Integer> sources,
+                                           final List<Integer> targets,
+                                           final boolean storePredecessors) {
+        final double[] distances =
+                computeDistanceTable(graph, sources, targets);
+        final int[] sourceIds = toArray(sources);
+        final int[] targetIds = toArray(targets);
+        
+        if (!storePredecessors) {
+            return new DistanceMatrix(sourceIds, targetIds, distances);
+        }
+        
+        final int n = hierarchy.size();
+        final int[] nodeIds = new int[n];
+        final int[] targetIndices = new int[targetIds.length];
+        final int[] predecessors = new int[sourceIds.length * n];
+        
+        Arrays.fill(predecessors, -1);
+        
+        for (int node = 0; node < n; ++node) {
+            nodeIds[node] = hierarchy.getNodeId(node);
+        }
+        
+        for (int j = 0; j < targetIds.length; ++j) {
+            targetIndices[j] = hierarchy.getNodeIndex(targetIds[j]);
+        }
+        
+        for (int i = 0; i < sourceIds.length; ++i) {
+            for (int j = 0; j < targetIds.length; ++j) {
+                final List<Integer> path = eraseLoops(
+                        findShortestPath(graph, sourceIds[i], targetIds[j]));
+                
+                for (int k = 1; k < path.size(); ++k) {
+                    predecessors[i * n + hierarchy.getNodeIndex(path.get(k))] =
+                            hierarchy.getNodeIndex(path.get(k - 1));
+                }
+            }
+        }
+        
+        return new DistanceMatrix(sourceIds,
+                                  targetIds,
+                                  distances,
+                                  nodeIds,
+                                  targetIndices,
+                                  predecessors);
+    }
+    
+    /**
+     * Removes the cycles from {@code path}, which may only be there due to 
+     * arcs of zero weight. Otherwise, the predecessors could form a cycle.
+     */
+    private static List<Integer> eraseLoops(final List<Integer> path) {
+        final Map<Integer, Integer> positionMap = new HashMap<>();
+        final List<Integer> erasedPath = new ArrayList<>(path.size());
+        
+        for (final Integer node : path) {
+            final Integer position = positionMap.get(node);
+            
+            if (position != null) {
+                for (int k = position + 1; k < erasedPath.size(); ++k) {
+                    positionMap.remove(erasedPath.get(k));
+                }
+                
+                erasedPath.subList(position + 1, erasedPath.size()).clear();
+            } else {
+                positionMap.put(node, erasedPath.size());
+                erasedPath.add(node);
+            }
+        }
+        
+        return erasedPath;
+    }
+    
+    private static int[] toArray(final List<Integer> nodes) {
+        final int[] array = new int[nodes.size()];
+        
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = nodes.get(i);
+        }
+        
+        return array;
+    }
+    
+    private void loadHierarchy(final DirectedGraph graph) {
+        if (hierarchy == null || !hierarchy.isBuiltFor(graph)) {
+            hierarchy = new ContractionHierarchy(graph);
+        }
+        
+        final int n = hierarchy.size();
+        forwardSearchSpace.ensureCapacity(n);
+        backwardSearchSpace.ensureCapacity(n);
+        
+        if (bucketHeads == null || bucketHeads.length != n) {
+            bucketHeads = new int[n];
+            Arrays.fill(bucketHeads, -1);
+        }
+    }
+    
+    private static boolean isActive(final SearchSpace searchSpace,
+                                    final double bestPathLength) {
+        return !searchSpace.isOpenEmpty()
+                && searchSpace.getDistance(searchSpace.peekMinimum())
+                   < bestPathLength;
+    }
+    
+    /**
+     * Relaxes the upward arcs of the just settled {@code node}, unless the node
+     * is stalled. The parent of each reached node is the arc it was reached
+     * by.
+     *
+     * @param searchSpace the search space of the search.
+     * @param node        the settled node.
+     * @param forward     whether the search is a forward one.
+     * @return {@code false} if the node is stalled.
+     */
+    private boolean relaxUpward(final SearchSpace searchSpace,
+                                final int node,
+                                final boolean forward) {
+        final double distance = searchSpace.getDistance(node);
+        
+        if (isStalled(searchSpace, node, distance, forward)) {
+            return false;
+        }
+        
+        final int begin;
+        final int end;
+        
+        if (forward) {
+            begin = hierarchy.getForwardBegin(node);
+            end = hierarchy.getForwardEnd(node);
+        } else {
+            begin = hierarchy.getBackwardBegin(node);
+            end = hierarchy.getBackwardEnd(node);
+        }
+        
+        for (int i = begin; i < end; ++i) {
+            final int arc = forward ? hierarchy.getForwardArc(i) :
+                                      hierarchy.getBackwardArc(i);
+            final int neighbor = forward ? hierarchy.getArcHead(arc) :
+                                           hierarchy.getArcTail(arc);
+            
+            if (searchSpace.isSettled(neighbor)) {
+                continue;
+            }
+            
+            final double tentativeDistance =
+                    distance + hierarchy.getArcWeight(arc);
+            
+            searchSpace.relax(neighbor,
+                              arc,
+                              tentativeDistance,
+                              tentativeDistance);
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Checks whether a higher ranked node reached by the search has a shorter
+     * path to {@code node} by a downward arc of the search.
+     */
+    private boolean isStalled(final SearchSpace searchSpace,
+                              final int node,
+                              final double distance,
+                              final boolean forward) {
+        final int begin;
+        final int end;
+        
+        if (forward) {
+            begin = hierarchy.getBackwardBegin(node);
+            end = hierarchy.getBackwardEnd(node);
+        } else {
+            begin = hierarchy.getForwardBegin(node);
+            end = hierarchy.getForwardEnd(node);
+        }
+        
+        for (int i = begin; i < end; ++i) {
+            final int arc = forward ? hierarchy.getBackwardArc(i) :
+                                      hierarchy.getForwardArc(i);
+            final int neighbor = forward ? hierarchy.getArcTail(arc) :
+                                           hierarchy.getArcHead(arc);
+            
+            if (searchSpace.isReached(neighbor)
+                    && searchSpace.getDistance(neighbor)
+                       + hierarchy.getArcWeight(arc) < distance) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    private void addBucketEntry(final int node,
+                                final int target,
+                                final double distance) {
+        if (numberOfEntries == entryNext.length) {
+            final int capacity = 2 * numberOfEntries;
+            entryNext = Arrays.copyOf(entryNext, capacity);
+            entryTarget = Arrays.copyOf(entryTarget, capacity);
+            entryDistance = Arrays.copyOf(entryDistance, capacity);
+        }
+        
+        final int entry = numberOfEntries++;
+        entryNext[entry] = bucketHeads[node];
+        entryTarget[entry] = target;
+        entryDistance[entry] = distance;
+        bucketHeads[node] = entry;
+    }
+    
+    /**
+     * Unpacks the path from the source to {@code touchNode} and onwards to the
+     * target into the node IDs of the original graph.
+     */
+    private List<Integer> unpackPath(final int source, final int touchNode) {
+        final Deque<Integer> arcs = new ArrayDeque<>();
+        
+        for (int node = touchNode;
+                forwardSearchSpace.getParent(node) != -1;
+                node = hierarchy.getArcTail(
+                        forwardSearchSpace.getParent(node))) {
+            arcs.addFirst(forwardSearchSpace.getParent(node));
+        }
+        
+        for (int node = touchNode;
+                backwardSearchSpace.getParent(node) != -1;
+                node = hierarchy.getArcHead(
+                        backwardSearchSpace.getParent(node))) {
+            arcs.addLast(backwardSearchSpace.getParent(node));
+        }
+        
+        final List<Integer> nodeList = new ArrayList<>();
+        nodeList.add(hierarchy.getNodeId(source));
+        
+        // Unpack the shortcuts depth-first, left to right.
+        while (!arcs.isEmpty()) {
+            final int arc = arcs.removeFirst();
+            
+            if (hierarchy.getArcFirst(arc) == -1) {
+                nodeList.add(hierarchy.getNodeId(hierarchy.getArcHead(arc)));
+            } else {
+                arcs.addFirst(hierarchy.getArcSecond(arc));
+                arcs.addFirst(hierarchy.getArcFirst(arc));
+            }
+        }
+        
+        return nodeList;
+    }
+}
@@ -1,91 +1,209 @@
 package net.coderodde.graph.shortestpath.support;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import net.coderodde.graph.DirectedGraph;
-import net.coderodde.graph.shortestpath.ShortestPathFinder;
-import net.coderodde.util.PriorityQueue;
-import net.coderodde.util.support.DaryHeap;
+import net.coderodde.graph.IndexedDirectedGraph;
+import net.coderodde.graph.shortestpath.DistanceMatrix;
+import net.coderodde.graph.shortestpath.ShortestDistanceFinder;
 
 /**
+ * This class implements Dijkstra's algorithm.
+ * <p>
+ * The finder keeps a search workspace between the queries: an indexed
+ * snapshot of the last searched graph, together with the distance and parent
+ * arrays and the open list over its node indices. The arrays are never
+ * cleared; instead, each query bumps a generation counter, and an array entry
+ * is valid only if it was stamped with the current generation. Hence repeated
+ * queries against an unmodified graph touch only the nodes they reach. The
+ * workspace is rebuilt whenever the finder is given another graph or the graph
+ * has been modified.
+ * <p>
+ * Each node is settled at most once per query: once a node is extracted from
+ * the open list, it is marked closed, and its arcs are never relaxed again.
+ * The amount of work done by the last query is available via
+ * {@link #getNumberOfSettledNodes()} and {@link #getNumberOfRelaxedEdges()}.
+ * <p>
+ * Besides the point-to-point queries, this class computes the distances from
+ * a list of sources to a list of targets without materializing the paths
+ * (see {@link ShortestDistanceFinder}).
+ * <p>
+ * Note that this class maintains state, so that if you need to run the
+ * algorithm in parallel, make sure that each thread constructs its own instance
+ * of this class.
  *
- * @author Rodion "rodde" 
+ * @author Rodion "rodde"
  */
-public class DijkstraShortestPathFinder implements ShortestPathFinder {
-
+public class DijkstraShortestPathFinder
+extends AbstractIndexedShortestPathFinder
+implements ShortestDistanceFinder {
+    
+    private final SearchSpace searchSpace = new SearchSpace();
+    private int numberOfSettledNodes;
+    private int numberOfRelaxedEdges;
+    
     @Override
-    public List<Integer> findShortestPath(final DirectedGraph graph, 
-                                          final Integer source, 
-                                          final Integer target) {
-        Objects.requireNonNull(graph, "The input graph is null.");
-        Objects.requireNonNull(source, "The source node is null.");
-        Objects.requireNonNull(target, "The target node is null.");
+    protected List<Integer> findShortestPath(final IndexedDirectedGraph graph,
+                                             final int source,
+                                             final int target) {
+        searchSpace.ensureCapacity(graph.size());
+        searchSpace.startSearch();
+        searchSpace.relax(source, -1, 0.0, 0.0);
+        numberOfSettledNodes = 0;
+        numberOfRelaxedEdges = 0;
         
-        if (!graph.hasNode(source)) {
-            throw new IllegalArgumentException(
-                    "The source node does not appear in the input graph.");
-        }
-        
-        if (!graph.hasNode(target)) {
-            throw new IllegalArgumentException(
-                    "The target node does not appear in the input graph.");
+        while (!searchSpace.isOpenEmpty()) {
+            final int current = searchSpace.settleMinimum();
+            numberOfSettledNodes++;
+            
+            if (current == target) {
+                return searchSpace.tracebackPath(graph, target);
+            }
+            
+            expandNode(graph, current);
         }
         
-        final int size = graph.size();
-        final PriorityQueue<Integer> OPEN = new DaryHeap<>();
-        final Set<Integer> CLOSED = new HashSet<>(size);
-        final Map<Integer, Integer> PARENTS = new HashMap<>(size);
-        final Map<Integer, Double> DISTANCE = new HashMap<>(size);
+        return Collections.<Integer>emptyList();
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Runs Dijkstra's algorithm once from each source, stopping as soon as all
+     * the targets are settled.
+     */
+    @Override
+    public DistanceMatrix computeDistances(final DirectedGraph graph,
+                                           final List<Integer> sources,
+                                           final List<Integer> targets,
+                                           final boolean storePredecessors) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        checkNodes(graph, sources, "source");
+        checkNodes(graph, targets, "target");
         
-        OPEN.add(source, 0.0);
-        PARENTS.put(source, null);
-        DISTANCE.put(source, 0.0);
+        final IndexedDirectedGraph indexedGraph = getIndexedGraph(graph);
+        final int n = indexedGraph.size();
+        final int numberOfSources = sources.size();
+        final int numberOfTargets = targets.size();
+        final int[] sourceIds = new int[numberOfSources];
+        final int[] targetIds = new int[numberOfTargets];
+        final int[] targetIndices = new int[numberOfTargets];
+        final boolean[] isTarget = new boolean[n];
+        final double[] distances = new double[numberOfSources * 
+                                              numberOfTargets];
+        final int[] predecessors = 
+                storePredecessors ? new int[numberOfSources * n] : null;
+        int numberOfDistinctTargets = 0;
         
-        while (!OPEN.isEmpty()) {
-            final Integer current = OPEN.extractMinimum();
+        for (int j = 0; j < numberOfTargets; ++j) {
+            targetIds[j] = targets.get(j);
+            targetIndices[j] = indexedGraph.getNodeIndex(targetIds[j]);
             
-            if (current.equals(target)) {
-                return tracebackPath(target, PARENTS);
+            if (!isTarget[targetIndices[j]]) {
+                isTarget[targetIndices[j]] = true;
+                numberOfDistinctTargets++;
             }
+        }
+        
+        searchSpace.ensureCapacity(n);
+        numberOfSettledNodes = 0;
+        numberOfRelaxedEdges = 0;
+        
+        for (int i = 0; i < numberOfSources; ++i) {
+            sourceIds[i] = sources.get(i);
+            searchSpace.startSearch();
+            searchSpace.relax(indexedGraph.getNodeIndex(sourceIds[i]),
+                              -1,
+                              0.0,
+                              0.0);
+            int numberOfUnsettledTargets = numberOfDistinctTargets;
             
-            for (final Integer child : graph.getChildrenOf(current)) {
-                if (CLOSED.contains(child)) {
-                    continue;
-                }
+            while (!searchSpace.isOpenEmpty()) {
+                final int current = searchSpace.settleMinimum();
+                numberOfSettledNodes++;
                 
-                final double tentativeWeight = DISTANCE.get(current) +
-                                               graph.getEdgeWeight(current, 
-                                                                   child);
+                if (isTarget[current] && --numberOfUnsettledTargets == 0) {
+                    break;
+                }
                 
-                if (!DISTANCE.containsKey(child)
-                        || DISTANCE.get(child) > tentativeWeight) {
-                    OPEN.add(child, tentativeWeight);
-                    PARENTS.put(child, current);
-                    DISTANCE.put(child, tentativeWeight);
+                expandNode(indexedGraph, current);
+            }
+            
+            for (int j = 0; j < numberOfTargets; ++j) {
+                distances[i * numberOfTargets + j] =
+                        searchSpace.getDistance(targetIndices[j]);
+            }
+            
+            if (storePredecessors) {
+                for (int node = 0; node < n; ++node) {
+                    predecessors[i * n + node] =
+                            searchSpace.isReached(node) ?
+                            searchSpace.getParent(node) :
+                            -1;
                 }
             }
         }
         
-        return Collections.<Integer>emptyList();
-    }
-     
-    private List<Integer> tracebackPath(final Integer target, 
-                                        final Map<Integer, Integer> PARENTS) {
-        List<Integer> nodeList = new ArrayList<>();
-        Integer current = target;
+        if (!storePredecessors) {
+            return new DistanceMatrix(sourceIds, targetIds, distances);
+        }
         
-        while (current != null) {
-            nodeList.add(current);
-            current = PARENTS.get(current);
+        final int[] nodeIds = new int[n];
+        
+        for (int node = 0; node < n; ++node) {
+            nodeIds[node] = indexedGraph.getNodeId(node);
         }
         
-        Collections.<Integer>reverse(nodeList);
-        return nodeList;
+        return new DistanceMatrix(sourceIds,
+                                  targetIds,
+                                  distances,
+                                  nodeIds,
+                                  targetIndices,
+                                  predecessors);
+    }
+    
+    /**
+     * Returns the number of nodes settled by the last query.
+     *
+     * @return the number of settled nodes.
+     */
+    public int getNumberOfSettledNodes() {
+        return numberOfSettledNodes;
+    }
+    
+    /**
+     * Returns the number of arcs relaxed by the last query. An arc is relaxed
+     * when its tail is settled and its head is not.
+     *
+     * @return the number of relaxed arcs.
+     */
+    public int getNumberOfRelaxedEdges() {
+        return numberOfRelaxedEdges;
+    }
+    
+    /**
+     * Relaxes the arcs leaving the settled node {@code node}.
+     * 
+     * @param graph the searched graph.
+     * @param node  the settled node.
+     */
+    private void expandNode(final IndexedDirectedGraph graph, final int node) {
+        final double distance = searchSpace.getDistance(node);
+        final int end = graph.getChildrenEnd(node);
+        
+        for (int arc = graph.getChildrenBegin(node); arc < end; ++arc) {
+            final int child = graph.getChild(arc);
+            
+            if (searchSpace.isSettled(child)) {
+                continue;
+            }
+            
+            numberOfRelaxedEdges++;
+            final double tentativeWeight =
+                    distance + graph.getChildArcWeight(arc);
+            
+            searchSpace.relax(child, node, tentativeWeight, tentativeWeight);
+        }
     }
 }
@@ -0,0 +1,217 @@
+package net.coderodde.graph.shortestpath.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.coderodde.graph.DirectedGraph;
+
+/**
+ * This class implements a bounded cache of single-source distance rows over a
+ * base graph. A row holds the shortest path distances from a source node to
+ * all the nodes of the graph. The cache is meant to be shared by the
+ * {@link CachingShortestDistanceFinder}s of the preprocessing jobs that
+ * complete different subsets of the same base graph, so that each job
+ * computes only the rows no earlier job has computed.
+ * <p>
+ * The rows are valid for a single version of a single graph: once the cache
+ * is asked for another graph, or the graph has been modified, all the rows are
+ * dropped. The cache is bounded by the approximate number of bytes taken by
+ * the rows; once a new row pushes the cache over the bound, the least recently
+ * used rows are evicted.
+ * <p>
+ * The cache counts the hits, the misses and the evictions. This class is
+ * thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class DistanceRowCache {
+    
+    /**
+     * The default bound on the size of a cache in bytes.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE_IN_BYTES = 64L << 20;
+    
+    /**
+     * The version of the graph the rows are computed for, together with the
+     * order of the columns of the rows.
+     */
+    static final class Snapshot {
+        
+        final DirectedGraph graph;
+        final int modificationCount;
+        final List<Integer> nodeIds;
+        final Map<Integer, Integer> columnMap;
+        
+        Snapshot(final DirectedGraph graph) {
+            this.graph = graph;
+            this.modificationCount = graph.getModificationCount();
+            this.nodeIds = Collections.unmodifiableList(
+                    new ArrayList<>(graph.getAllNodes()));
+            this.columnMap = new HashMap<>(2 * nodeIds.size());
+            
+            for (int i = 0; i < nodeIds.size(); ++i) {
+                columnMap.put(nodeIds.get(i), i);
+            }
+        }
+        
+        boolean isSnapshotOf(final DirectedGraph graph) {
+            return this.graph == graph
+                    && modificationCount == graph.getModificationCount();
+        }
+        
+        long getRowSizeInBytes() {
+            return 48L + 8L * nodeIds.size();
+        }
+    }
+    
+    private final long maximumSizeInBytes;
+    private final LinkedHashMap<Integer, double[]> rowMap =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private Snapshot snapshot;
+    private long sizeInBytes;
+    private long numberOfHits;
+    private long numberOfMisses;
+    private long numberOfEvictions;
+    
+    /**
+     * Constructs a cache with the default bound on its size.
+     */
+    public DistanceRowCache() {
+        this(DEFAULT_MAXIMUM_SIZE_IN_BYTES);
+    }
+    
+    /**
+     * Constructs a cache.
+     * 
+     * @param maximumSizeInBytes the bound on the size of the cache in bytes.
+     */
+    public DistanceRowCache(final long maximumSizeInBytes) {
+        if (maximumSizeInBytes < 0L) {
+            throw new IllegalArgumentException(
+                    "The maximum cache size is negative: " + 
+                    maximumSizeInBytes + ".");
+        }
+        
+        this.maximumSizeInBytes = maximumSizeInBytes;
+    }
+    
+    /**
+     * Returns the snapshot of the current version of {@code graph}. If the 
+     * cached rows belong to another graph or version, they are dropped.
+     * 
+     * @param graph the graph.
+     * @return the snapshot.
+     */
+    synchronized Snapshot getSnapshot(final DirectedGraph graph) {
+        if (snapshot == null || !snapshot.isSnapshotOf(graph)) {
+            snapshot = new Snapshot(graph);
+            rowMap.clear();
+            sizeInBytes = 0L;
+        }
+        
+        return snapshot;
+    }
+    
+    /**
+     * Returns the cached row of the node {@code source}.
+     * 
+     * @param snapshot the snapshot the row is looked up for.
+     * @param source   the source node.
+     * @return the row or {@code null} if it is not cached or the snapshot is
+     *         no longer current.
+     */
+    synchronized double[] getRow(final Snapshot snapshot, final int source) {
+        final double[] row = this.snapshot == snapshot ? 
+                             rowMap.get(source) :
+                             null;
+        
+        if (row == null) {
+            numberOfMisses++;
+        } else {
+            numberOfHits++;
+        }
+        
+        return row;
+    }
+    
+    /**
+     * Caches the row of the node {@code source} unless the snapshot is no 
+     * longer current. The row must not be modified afterwards.
+     * 
+     * @param snapshot the snapshot the row is computed for.
+     * @param source   the source node.
+     * @param row      the distances in the column order of the snapshot.
+     */
+    synchronized void putRow(final Snapshot snapshot,
+                             final int source,
+                             final double[] row) {
+        final long rowSizeInBytes = snapshot.getRowSizeInBytes();
+        
+        if (this.snapshot != snapshot || rowSizeInBytes > maximumSizeInBytes) {
+            return;
+        }
+        
+        if (rowMap.put(source, row) == null) {
+            sizeInBytes += rowSizeInBytes;
+        }
+        
+        final Iterator<double[]> iterator = rowMap.values().iterator();
+        
+        while (sizeInBytes > maximumSizeInBytes) {
+            // The iteration order is from the least recently used row.
+            iterator.next();
+            iterator.remove();
+            sizeInBytes -= rowSizeInBytes;
+            numberOfEvictions++;
+        }
+    }
+    
+    /**
+     * Removes all the rows from this cache. The statistics are kept.
+     */
+    public synchronized void clear() {
+        rowMap.clear();
+        snapshot = null;
+        sizeInBytes = 0L;
+    }
+    
+    /**
+     * Returns the number of cached rows.
+     * 
+     * @return the number of rows.
+     */
+    public synchronized int size() {
+        return rowMap.size();
+    }
+    
+    /**
+     * Returns the approximate number of bytes taken by the cached rows.
+     * 
+     * @return the size in bytes.
+     */
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+    
+    public long getMaximumSizeInBytes() {
+        return maximumSizeInBytes;
+    }
+    
+    public synchronized long getNumberOfHits() {
+        return numberOfHits;
+    }
+    
+    public synchronized long getNumberOfMisses() {
+        return numberOfMisses;
+    }
+    
+    public synchronized long getNumberOfEvictions() {
+        return numberOfEvictions;
+    }
+}
@@ -0,0 +1,303 @@
+package net.coderodde.graph.shortestpath.support;
+
+import java.util.Arrays;
+import java.util.Objects;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.IndexedDirectedGraph;
+import net.coderodde.util.IntPriorityQueue;
+import net.coderodde.util.support.IntDaryHeap;
+
+/**
+ * This class implements a landmark index for the ALT lower bounds. For each
+ * landmark {@code L}, it stores the distances from {@code L} to every node and
+ * from every node to {@code L}, so that by the triangle inequality
+ * <pre>
+ *     d(v, t) &gt;= d(L, t) - d(L, v), and
+ *     d(v, t) &gt;= d(v, L) - d(t, L).
+ * </pre>
+ * The landmarks are selected by the farthest-point heuristic: each new
+ * landmark is the node farthest from the landmarks selected so far. The
+ * distances are stored node by node in flat {@code double} arrays, so that
+ * the bounds of a node against all the landmarks are adjacent in memory.
+ * <p>
+ * The index is immutable once built, so it may be shared between threads. An
+ * index built over a {@link DirectedGraph} remembers the graph, so that the
+ * finders sharing the index may check whether it still matches the graph they
+ * search (see {@link #isBuiltFor(DirectedGraph)}).
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class LandmarkIndex {
+    
+    private final IndexedDirectedGraph graph;
+    
+    /**
+     * The graph this index was built over, or {@code null} if it was built
+     * over a snapshot only.
+     */
+    private final DirectedGraph inputGraph;
+    private final int graphModificationCount;
+    private final int[] landmarks;
+    
+    /**
+     * {@code forwardDistances[v * k + i]} is the distance from the
+     * {@code i}th landmark to {@code v}.
+     */
+    private final double[] forwardDistances;
+    
+    /**
+     * {@code backwardDistances[v * k + i]} is the distance from {@code v} to
+     * the {@code i}th landmark.
+     */
+    private final double[] backwardDistances;
+    
+    /**
+     * Builds a landmark index over a snapshot of {@code graph}.
+     *
+     * @param graph             the graph to index.
+     * @param numberOfLandmarks the requested number of landmarks. If the graph
+     *                          has fewer nodes, every node becomes a landmark.
+     */
+    public LandmarkIndex(final DirectedGraph graph,
+                         final int numberOfLandmarks) {
+        this(Objects.requireNonNull(graph, "The input graph is null."),
+             graph.getModificationCount(),
+             new IndexedDirectedGraph(graph),
+             numberOfLandmarks);
+    }
+    
+    /**
+     * Builds a landmark index.
+     *
+     * @param graph             the graph to index.
+     * @param numberOfLandmarks the requested number of landmarks. If the graph
+     *                          has fewer nodes, every node becomes a landmark.
+     */
+    public LandmarkIndex(final IndexedDirectedGraph graph,
+                         final int numberOfLandmarks) {
+        this(null, 0, graph, numberOfLandmarks);
+    }
+    
+    private LandmarkIndex(final DirectedGraph inputGraph,
+                          final int graphModificationCount,
+                          final IndexedDirectedGraph graph,
+                          final int numberOfLandmarks) {
+        this.inputGraph = inputGraph;
+        this.graphModificationCount = graphModificationCount;
+        this.graph = Objects.requireNonNull(graph, "The input graph is null.");
+        
+        if (numberOfLandmarks < 1) {
+            throw new IllegalArgumentException(
+                    "The number of landmarks must be at least 1, received " +
+                    numberOfLandmarks + ".");
+        }
+        
+        final int n = graph.size();
+        final int k = Math.min(numberOfLandmarks, n);
+        final double[] distances = new double[n];
+        final double[] separations = new double[n];
+        final IntPriorityQueue OPEN = new IntDaryHeap(n);
+        
+        this.landmarks = new int[k];
+        this.forwardDistances = new double[n * k];
+        this.backwardDistances = new double[n * k];
+        
+        if (k == 0) {
+            return;
+        }
+        
+        // Seed the selection with the node farthest from an arbitrary node.
+        computeDistances(graph, 0, true, distances, OPEN);
+        Arrays.fill(separations, Double.NEGATIVE_INFINITY);
+        
+        for (int node = 0; node < n; ++node) {
+            if (distances[node] != Double.POSITIVE_INFINITY) {
+                separations[node] = distances[node];
+            }
+        }
+        
+        for (int i = 0; i < k; ++i) {
+            final int landmark = getFarthestNode(separations);
+            landmarks[i] = landmark;
+            
+            computeDistances(graph, landmark, true, distances, OPEN);
+            storeDistances(distances, forwardDistances, i, k);
+            updateSeparations(separations, distances, i == 0);
+            
+            computeDistances(graph, landmark, false, distances, OPEN);
+            storeDistances(distances, backwardDistances, i, k);
+            updateSeparations(separations, distances, false);
+            
+            // Never select the same landmark twice.
+            separations[landmark] = Double.NEGATIVE_INFINITY;
+        }
+    }
+    
+    /**
+     * Returns the indexed graph this index was built for.
+     *
+     * @return the indexed graph.
+     */
+    public IndexedDirectedGraph getGraph() {
+        return graph;
+    }
+    
+    /**
+     * Checks whether this index was built over {@code graph} and the graph
+     * has not been modified since.
+     *
+     * @param graph the graph to check.
+     * @return {@code true} if this index matches the graph.
+     */
+    public boolean isBuiltFor(final DirectedGraph graph) {
+        return inputGraph != null
+                && inputGraph == graph
+                && graphModificationCount == graph.getModificationCount();
+    }
+    
+    /**
+     * Returns the number of landmarks.
+     *
+     * @return the number of landmarks.
+     */
+    public int getNumberOfLandmarks() {
+        return landmarks.length;
+    }
+    
+    /**
+     * Returns the node index of the {@code i}th landmark.
+     *
+     * @param i the landmark number.
+     * @return the node index of the landmark.
+     */
+    public int getLandmark(final int i) {
+        return landmarks[i];
+    }
+    
+    /**
+     * Returns a lower bound on the distance from the node with index
+     * {@code node} to the node with index {@code target}. If the bound is
+     * {@link Double#POSITIVE_INFINITY}, the target is not reachable from the
+     * node.
+     *
+     * @param node   the index of the node.
+     * @param target the index of the target node.
+     * @return a lower bound on the distance.
+     */
+    public double getLowerBound(final int node, final int target) {
+        final int k = landmarks.length;
+        final int nodeOffset = node * k;
+        final int targetOffset = target * k;
+        double bound = 0.0;
+        
+        for (int i = 0; i < k; ++i) {
+            bound = Math.max(bound,
+                             getBound(forwardDistances[targetOffset + i],
+                                      forwardDistances[nodeOffset + i]));
+            bound = Math.max(bound,
+                             getBound(backwardDistances[nodeOffset + i],
+                                      backwardDistances[targetOffset + i]));
+        }
+        
+        return bound;
+    }
+    
+    /**
+     * Returns the bound {@code far - near} that follows from the triangle
+     * inequality {@code far <= near + d}. An infinite {@code far} with finite
+     * {@code near} means that {@code d} is infinite; if {@code near} is
+     * infinite, nothing follows.
+     */
+    private static double getBound(final double far, final double near) {
+        if (near == Double.POSITIVE_INFINITY) {
+            return 0.0;
+        }
+        
+        return far - near;
+    }
+    
+    private static int getFarthestNode(final double[] separations) {
+        int farthestNode = 0;
+        
+        for (int node = 1; node < separations.length; ++node) {
+            if (separations[farthestNode] < separations[node]) {
+                farthestNode = node;
+            }
+        }
+        
+        return farthestNode;
+    }
+    
+    private static void storeDistances(final double[] distances,
+                                       final double[] table,
+                                       final int landmark,
+                                       final int numberOfLandmarks) {
+        for (int node = 0; node < distances.length; ++node) {
+            table[node * numberOfLandmarks + landmark] = distances[node];
+        }
+    }
+    
+    /**
+     * Updates the distance of each node to the closest landmark. A node not
+     * connected to any landmark is as far as possible, so that the next
+     * landmark is selected among such nodes first.
+     */
+    private static void updateSeparations(final double[] separations,
+                                          final double[] distances,
+                                          final boolean reset) {
+        for (int node = 0; node < separations.length; ++node) {
+            if (reset || distances[node] < separations[node]) {
+                separations[node] = distances[node];
+            }
+        }
+    }
+    
+    private static void computeDistances(final IndexedDirectedGraph graph,
+                                         final int source,
+                                         final boolean forward,
+                                         final double[] distances,
+                                         final IntPriorityQueue OPEN) {
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0.0;
+        OPEN.add(source, 0.0);
+        
+        while (!OPEN.isEmpty()) {
+            final int current = OPEN.extractMinimum();
+            
+            if (forward) {
+                final int end = graph.getChildrenEnd(current);
+                
+                for (int arc = graph.getChildrenBegin(current);
+                        arc < end;
+                        ++arc) {
+                    relax(graph.getChild(arc),
+                          distances[current] + graph.getChildArcWeight(arc),
+                          distances,
+                          OPEN);
+                }
+            } else {
+                final int end = graph.getParentsEnd(current);
+                
+                for (int arc = graph.getParentsBegin(current);
+                        arc < end;
+                        ++arc) {
+                    relax(graph.getParent(arc),
+                          distances[current] + graph.getParentArcWeight(arc),
+                          distances,
+                          OPEN);
+                }
+            }
+        }
+    }
+    
+    private static void relax(final int node,
+                              final double distance,
+                              final double[] distances,
+                              final IntPriorityQueue OPEN) {
+        if (distances[node] > distance) {
+            distances[node] = distance;
+            OPEN.add(node, distance);
+        }
+    }
+}
@@ -0,0 +1,537 @@
+package net.coderodde.graph.shortestpath.support;
+
+import java.util.Arrays;
+import net.coderodde.graph.IndexedDirectedGraph;
+import net.coderodde.util.support.IntDaryHeap;
+
+/**
+ * This class contracts the nodes of a graph in order to build a
+ * {@link ContractionHierarchy}. The nodes are contracted in the order of
+ * their priority, which is twice the edge difference (the number of shortcuts
+ * the contraction would add minus the number of arcs it would remove) plus
+ * four times the same difference counted in the original arcs the shortcuts
+ * and the arcs stand for, plus twice the number of already contracted
+ * neighbors plus the level of the node (one more than the highest level of
+ * its contracted neighbors). The second term keeps the long shortcuts for
+ * the upper levels, and the last two terms spread the contraction evenly
+ * over the graph and keep the hierarchy shallow. After each contraction, the
+ * priorities of the neighbors of the contracted node are recomputed, since
+ * only their neighborhoods changed. The neighbors with more than
+ * {@link #NEIGHBOR_UPDATE_LIMIT} pairs of arcs through them are skipped, since
+ * in the dense upper levels their witness searches would dominate the
+ * contraction. They are caught by the lazy check instead: a node is
+ * contracted only if its recomputed priority is still the lowest one.
+ * <p>
+ * Contracting a node {@code v} adds a shortcut {@code u -> w} for each pair
+ * of arcs {@code u -> v -> w}, unless a witness search from {@code u} that
+ * avoids {@code v} finds a path to {@code w} that is no longer. Computing the
+ * priority of a node runs the witness searches and keeps the shortcuts they
+ * call for, so that contracting the node right after adds them without
+ * searching again. The witness searches settle at most
+ * {@link #WITNESS_SEARCH_SETTLE_LIMIT} nodes and follow paths of at most
+ * {@link #WITNESS_SEARCH_HOP_LIMIT} arcs, so they may miss a witness and add a
+ * superfluous shortcut, but never miss a needed one.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class NodeContractor {
+    
+    /**
+     * The maximum number of nodes settled by a single witness search.
+     */
+    private static final int WITNESS_SEARCH_SETTLE_LIMIT = 500;
+    
+    /**
+     * The maximum number of arcs on a witness path.
+     */
+    private static final int WITNESS_SEARCH_HOP_LIMIT = 16;
+    
+    /**
+     * The maximum number of the arc pairs via a neighbor of a contracted node
+     * for which the priority of the neighbor is recomputed right away.
+     */
+    private static final int NEIGHBOR_UPDATE_LIMIT = 16;
+    
+    private final int n;
+    
+    // The arcs, both original and shortcuts. 'arcFirst' and 'arcSecond' are
+    // the two arcs replaced by a shortcut, or -1 for the original arcs.
+    int[] arcTail = new int[16];
+    int[] arcHead = new int[16];
+    double[] arcWeight = new double[16];
+    int[] arcFirst = new int[16];
+    int[] arcSecond = new int[16];
+    int numberOfArcs;
+    int numberOfShortcuts;
+    
+    /**
+     * The number of the original arcs each arc stands for.
+     */
+    private int[] arcOriginalArcs = new int[16];
+    
+    /**
+     * The arcs between the uncontracted nodes. Once a node is contracted, its
+     * lists are frozen and hold the arcs to the nodes of higher rank.
+     */
+    final IntList[] outArcs;
+    final IntList[] inArcs;
+    final int[] rank;
+    
+    private final int[] contractedNeighbors;
+    private final int[] levels;
+    private final SearchSpace witnessSearchSpace = new SearchSpace();
+    
+    /**
+     * The number of arcs on the path to each node reached by the current
+     * witness search.
+     */
+    private final int[] witnessHops;
+    
+    /**
+     * The unresolved targets of the current witness search are stamped with
+     * {@code targetStamp}, and so are the neighbors being updated with
+     * {@code neighborStamp}.
+     */
+    private final int[] targetStamps;
+    private final int[] neighborStamps;
+    private int targetStamp;
+    private int neighborStamp;
+    
+    /**
+     * The length of the path via the excluded node to each target of the
+     * current witness search.
+     */
+    private final double[] targetBounds;
+    private int numberOfUnresolvedTargets;
+    
+    // The shortcuts found by the last call to 'computePriority'.
+    private int[] pendingTail = new int[16];
+    private int[] pendingHead = new int[16];
+    private double[] pendingWeight = new double[16];
+    private int[] pendingFirst = new int[16];
+    private int[] pendingSecond = new int[16];
+    private int numberOfPendingShortcuts;
+    
+    NodeContractor(final IndexedDirectedGraph graph) {
+        this.n = graph.size();
+        this.outArcs = new IntList[n];
+        this.inArcs = new IntList[n];
+        this.rank = new int[n];
+        this.contractedNeighbors = new int[n];
+        this.levels = new int[n];
+        this.witnessHops = new int[n];
+        this.targetStamps = new int[n];
+        this.neighborStamps = new int[n];
+        this.targetBounds = new double[n];
+        
+        for (int node = 0; node < n; ++node) {
+            outArcs[node] = new IntList();
+            inArcs[node] = new IntList();
+        }
+        
+        for (int node = 0; node < n; ++node) {
+            final int end = graph.getChildrenEnd(node);
+            
+            for (int arc = graph.getChildrenBegin(node); arc < end; ++arc) {
+                final int child = graph.getChild(arc);
+                
+                if (child != node) {
+                    addArc(node, child, graph.getChildArcWeight(arc), -1, -1);
+                }
+            }
+        }
+        
+        witnessSearchSpace.ensureCapacity(n);
+    }
+    
+    /**
+     * Contracts all the nodes.
+     */
+    void contract() {
+        final IntDaryHeap queue = new IntDaryHeap(n);
+        final double[] priorities = new double[n];
+        
+        for (int node = 0; node < n; ++node) {
+            priorities[node] = computePriority(node);
+            queue.add(node, priorities[node]);
+        }
+        
+        int nextRank = 0;
+        
+        while (!queue.isEmpty()) {
+            final int node = queue.extractMinimum();
+            final double priority = computePriority(node);
+            
+            if (!queue.isEmpty() && priority > priorities[queue.min()]) {
+                priorities[node] = priority;
+                queue.add(node, priority);
+                continue;
+            }
+            
+            rank[node] = nextRank++;
+            contractNode(node);
+            updateNeighborPriorities(node, queue, priorities);
+        }
+    }
+    
+    /**
+     * Computes the priority of {@code node} and keeps the shortcuts its
+     * contraction needs as the pending ones.
+     *
+     * @param node the node.
+     * @return the priority of the node.
+     */
+    private double computePriority(final int node) {
+        findShortcuts(node);
+        final IntList in = inArcs[node];
+        final IntList out = outArcs[node];
+        final int edgeDifference = numberOfPendingShortcuts
+                                 - out.size()
+                                 - in.size();
+        int originalArcDifference = 0;
+        
+        for (int i = 0; i < numberOfPendingShortcuts; ++i) {
+            originalArcDifference += arcOriginalArcs[pendingFirst[i]] +
+                                     arcOriginalArcs[pendingSecond[i]];
+        }
+        
+        for (int i = 0; i < in.size(); ++i) {
+            originalArcDifference -= arcOriginalArcs[in.get(i)];
+        }
+        
+        for (int i = 0; i < out.size(); ++i) {
+            originalArcDifference -= arcOriginalArcs[out.get(i)];
+        }
+        
+        return 2 * edgeDifference
+             + 4 * originalArcDifference
+             + 2 * contractedNeighbors[node]
+             + levels[node];
+    }
+    
+    /**
+     * Recomputes the priorities of the uncontracted neighbors of the just
+     * contracted node {@code node}.
+     */
+    private void updateNeighborPriorities(final int node,
+                                          final IntDaryHeap queue,
+                                          final double[] priorities) {
+        ++neighborStamp;
+        
+        for (int i = 0; i < inArcs[node].size(); ++i) {
+            updateNeighborPriority(arcTail[inArcs[node].get(i)],
+                                   queue,
+                                   priorities);
+        }
+        
+        for (int i = 0; i < outArcs[node].size(); ++i) {
+            updateNeighborPriority(arcHead[outArcs[node].get(i)],
+                                   queue,
+                                   priorities);
+        }
+    }
+    
+    private void updateNeighborPriority(final int neighbor,
+                                        final IntDaryHeap queue,
+                                        final double[] priorities) {
+        if (neighborStamps[neighbor] == neighborStamp
+                || !queue.contains(neighbor)
+                || inArcs[neighbor].size() * outArcs[neighbor].size()
+                   > NEIGHBOR_UPDATE_LIMIT) {
+            return;
+        }
+        
+        neighborStamps[neighbor] = neighborStamp;
+        priorities[neighbor] = computePriority(neighbor);
+        queue.updatePriority(neighbor, priorities[neighbor]);
+    }
+    
+    /**
+     * Contracts {@code node}, whose pending shortcuts were found by the last
+     * call to {@link #computePriority(int)}.
+     *
+     * @param node the node to contract.
+     */
+    private void contractNode(final int node) {
+        for (int i = 0; i < numberOfPendingShortcuts; ++i) {
+            addShortcut(pendingTail[i],
+                        pendingHead[i],
+                        pendingWeight[i],
+                        pendingFirst[i],
+                        pendingSecond[i]);
+        }
+        
+        for (int i = 0; i < inArcs[node].size(); ++i) {
+            final int arc = inArcs[node].get(i);
+            outArcs[arcTail[arc]].remove(arc);
+            updateNeighbor(node, arcTail[arc]);
+        }
+        
+        for (int i = 0; i < outArcs[node].size(); ++i) {
+            final int arc = outArcs[node].get(i);
+            inArcs[arcHead[arc]].remove(arc);
+            updateNeighbor(node, arcHead[arc]);
+        }
+    }
+    
+    private void updateNeighbor(final int node, final int neighbor) {
+        contractedNeighbors[neighbor]++;
+        levels[neighbor] = Math.max(levels[neighbor], levels[node] + 1);
+    }
+    
+    /**
+     * Finds the shortcuts needed for contracting {@code node} and makes them
+     * the pending ones.
+     *
+     * @param node the node to contract.
+     */
+    private void findShortcuts(final int node) {
+        final IntList in = inArcs[node];
+        final IntList out = outArcs[node];
+        numberOfPendingShortcuts = 0;
+        
+        for (int i = 0; i < in.size(); ++i) {
+            final int inArc = in.get(i);
+            final int source = arcTail[inArc];
+            
+            runWitnessSearch(source, node, arcWeight[inArc]);
+            
+            for (int j = 0; j < out.size(); ++j) {
+                final int outArc = out.get(j);
+                final int target = arcHead[outArc];
+                
+                if (target == source) {
+                    continue;
+                }
+                
+                final double viaWeight = arcWeight[inArc] + arcWeight[outArc];
+                
+                if (witnessSearchSpace.getDistance(target) > viaWeight) {
+                    addPendingShortcut(source,
+                                       target,
+                                       viaWeight,
+                                       inArc,
+                                       outArc);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Runs a bounded Dijkstra's algorithm from {@code source} over the
+     * uncontracted nodes, avoiding {@code excludedNode}, whose arc from
+     * {@code source} weighs {@code sourceArcWeight}. A head {@code w} of an
+     * arc leaving {@code excludedNode} is resolved as soon as it is reached
+     * by a path that is no longer than the one via {@code excludedNode}, or
+     * settled. The search stops once all the heads are resolved, and never
+     * goes farther than the longest path via {@code excludedNode} to an
+     * unresolved head.
+     */
+    private void runWitnessSearch(final int source,
+                                  final int excludedNode,
+                                  final double sourceArcWeight) {
+        final IntList targets = outArcs[excludedNode];
+        numberOfUnresolvedTargets = 0;
+        ++targetStamp;
+        
+        for (int i = 0; i < targets.size(); ++i) {
+            final int arc = targets.get(i);
+            final int target = arcHead[arc];
+            
+            if (target != source) {
+                targetStamps[target] = targetStamp;
+                targetBounds[target] = sourceArcWeight + arcWeight[arc];
+                numberOfUnresolvedTargets++;
+            }
+        }
+        
+        double maximumDistance = getMaximumTargetBound(targets);
+        witnessSearchSpace.startSearch();
+        witnessSearchSpace.relax(source, -1, 0.0, 0.0);
+        witnessHops[source] = 0;
+        int numberOfSettledNodes = 0;
+        
+        while (!witnessSearchSpace.isOpenEmpty()
+                && numberOfUnresolvedTargets > 0
+                && numberOfSettledNodes < WITNESS_SEARCH_SETTLE_LIMIT) {
+            final int current = witnessSearchSpace.settleMinimum();
+            final double distance = witnessSearchSpace.getDistance(current);
+            numberOfSettledNodes++;
+            
+            if (distance > maximumDistance) {
+                break;
+            }
+            
+            if (targetStamps[current] == targetStamp) {
+                resolveTarget(current);
+                maximumDistance = getMaximumTargetBound(targets);
+            }
+            
+            if (witnessHops[current] == WITNESS_SEARCH_HOP_LIMIT) {
+                continue;
+            }
+            
+            final IntList out = outArcs[current];
+            
+            for (int i = 0; i < out.size(); ++i) {
+                final int arc = out.get(i);
+                final int child = arcHead[arc];
+                
+                if (child == excludedNode
+                        || witnessSearchSpace.isSettled(child)) {
+                    continue;
+                }
+                
+                final double tentativeDistance = distance + arcWeight[arc];
+                
+                if (tentativeDistance > maximumDistance) {
+                    continue;
+                }
+                
+                if (witnessSearchSpace.relax(child,
+                                             current,
+                                             tentativeDistance,
+                                             tentativeDistance)) {
+                    witnessHops[child] = witnessHops[current] + 1;
+                    
+                    if (targetStamps[child] == targetStamp
+                            && tentativeDistance <= targetBounds[child]) {
+                        resolveTarget(child);
+                        maximumDistance = getMaximumTargetBound(targets);
+                    }
+                }
+            }
+        }
+    }
+    
+    private void resolveTarget(final int target) {
+        targetStamps[target] = 0;
+        numberOfUnresolvedTargets--;
+    }
+    
+    private double getMaximumTargetBound(final IntList targets) {
+        double maximumBound = Double.NEGATIVE_INFINITY;
+        
+        for (int i = 0; i < targets.size(); ++i) {
+            final int target = arcHead[targets.get(i)];
+            
+            if (targetStamps[target] == targetStamp) {
+                maximumBound = Math.max(maximumBound, targetBounds[target]);
+            }
+        }
+        
+        return maximumBound;
+    }
+    
+    private void addPendingShortcut(final int tail,
+                                    final int head,
+                                    final double weight,
+                                    final int first,
+                                    final int second) {
+        if (numberOfPendingShortcuts == pendingTail.length) {
+            final int capacity = 2 * numberOfPendingShortcuts;
+            pendingTail = Arrays.copyOf(pendingTail, capacity);
+            pendingHead = Arrays.copyOf(pendingHead, capacity);
+            pendingWeight = Arrays.copyOf(pendingWeight, capacity);
+            pendingFirst = Arrays.copyOf(pendingFirst, capacity);
+            pendingSecond = Arrays.copyOf(pendingSecond, capacity);
+        }
+        
+        final int shortcut = numberOfPendingShortcuts++;
+        pendingTail[shortcut] = tail;
+        pendingHead[shortcut] = head;
+        pendingWeight[shortcut] = weight;
+        pendingFirst[shortcut] = first;
+        pendingSecond[shortcut] = second;
+    }
+    
+    private void addShortcut(final int tail,
+                             final int head,
+                             final double weight,
+                             final int first,
+                             final int second) {
+        final IntList out = outArcs[tail];
+        
+        for (int i = 0; i < out.size(); ++i) {
+            final int arc = out.get(i);
+            
+            if (arcHead[arc] == head) {
+                if (arcWeight[arc] <= weight) {
+                    return;
+                }
+                
+                out.remove(arc);
+                inArcs[head].remove(arc);
+                break;
+            }
+        }
+        
+        addArc(tail, head, weight, first, second);
+        numberOfShortcuts++;
+    }
+    
+    private void addArc(final int tail,
+                        final int head,
+                        final double weight,
+                        final int first,
+                        final int second) {
+        if (numberOfArcs == arcTail.length) {
+            final int capacity = 2 * numberOfArcs;
+            arcTail = Arrays.copyOf(arcTail, capacity);
+            arcHead = Arrays.copyOf(arcHead, capacity);
+            arcWeight = Arrays.copyOf(arcWeight, capacity);
+            arcFirst = Arrays.copyOf(arcFirst, capacity);
+            arcSecond = Arrays.copyOf(arcSecond, capacity);
+            arcOriginalArcs = Arrays.copyOf(arcOriginalArcs, capacity);
+        }
+        
+        final int arc = numberOfArcs++;
+        arcTail[arc] = tail;
+        arcHead[arc] = head;
+        arcWeight[arc] = weight;
+        arcFirst[arc] = first;
+        arcSecond[arc] = second;
+        arcOriginalArcs[arc] = first == -1 ? 1 : arcOriginalArcs[first] +
+                                                 arcOriginalArcs[second];
+        outArcs[tail].add(arc);
+        inArcs[head].add(arc);
+    }
+    
+    /**
+     * A growable list of primitive integers.
+     */
+    static final class IntList {
+        
+        private int[] elements = new int[4];
+        private int size;
+        
+        int size() {
+            return size;
+        }
+        
+        int get(final int index) {
+            return elements[index];
+        }
+        
+        void add(final int element) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, 2 * size);
+            }
+            
+            elements[size++] = element;
+        }
+        
+        /**
+         * Removes {@code element} by moving the last element in its place.
+         */
+        void remove(final int element) {
+            for (int i = 0; i < size; ++i) {
+                if (elements[i] == element) {
+                    elements[i] = elements[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
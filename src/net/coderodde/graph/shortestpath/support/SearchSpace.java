@@ -0,0 +1,170 @@
+package net.coderodde.graph.shortestpath.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.coderodde.graph.IndexedDirectedGraph;
+import net.coderodde.util.support.IntDaryHeap;
+
+/**
+ * This class holds the state of a single best-first search over the node
+ * indices of an {@link IndexedDirectedGraph}: the open list, the tentative
+ * distances, the parents, and the closed set. The arrays are reused between
+ * the searches; each search bumps a generation counter, and an entry is valid
+ * only if it was stamped with the current generation, so that starting a
+ * search does not touch the nodes reached by the previous ones.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class SearchSpace {
+    
+    private IntDaryHeap OPEN;
+    private int openCapacity = -1;
+    private double[] DISTANCE;
+    private int[] PARENTS;
+    
+    /**
+     * The generation in which each node was last reached.
+     */
+    private int[] reachedGenerations;
+    
+    /**
+     * The generation in which each node was last settled. A node is in the
+     * closed set if it was settled in the current generation.
+     */
+    private int[] CLOSED;
+    private int generation;
+    
+    /**
+     * Makes this search space able to hold the nodes of a graph with
+     * {@code size} nodes.
+     *
+     * @param size the number of nodes.
+     */
+    void ensureCapacity(final int size) {
+        if (openCapacity != size) {
+            OPEN = new IntDaryHeap(size);
+            openCapacity = size;
+        }
+        
+        if (DISTANCE == null || DISTANCE.length < size) {
+            DISTANCE = new double[size];
+            PARENTS = new int[size];
+            reachedGenerations = new int[size];
+            CLOSED = new int[size];
+            generation = 0;
+        }
+    }
+    
+    /**
+     * Forgets the previous search.
+     */
+    void startSearch() {
+        OPEN.clear();
+        
+        if (++generation == 0) {
+            // The generation counter wrapped around, so that the old stamps
+            // might collide with the new generations.
+            Arrays.fill(reachedGenerations, 0);
+            Arrays.fill(CLOSED, 0);
+            generation = 1;
+        }
+    }
+    
+    boolean isReached(final int node) {
+        return reachedGenerations[node] == generation;
+    }
+    
+    boolean isSettled(final int node) {
+        return CLOSED[node] == generation;
+    }
+    
+    /**
+     * Returns the tentative distance of {@code node}.
+     *
+     * @param node the node.
+     * @return the distance or {@link Double#POSITIVE_INFINITY} if the node has
+     *         not been reached.
+     */
+    double getDistance(final int node) {
+        return isReached(node) ? DISTANCE[node] : Double.POSITIVE_INFINITY;
+    }
+    
+    int getParent(final int node) {
+        return PARENTS[node];
+    }
+    
+    /**
+     * Offers a path of length {@code distance} to {@code node} via
+     * {@code parent}. If the path is shorter than the best known one, the node
+     * is (re)opened with the priority {@code priority}.
+     *
+     * @param node     the node.
+     * @param parent   the parent of the node or -1 for the source node.
+     * @param distance the length of the path.
+     * @param priority the priority of the node in the open list.
+     * @return {@code true} if the path improved the distance of the node.
+     */
+    boolean relax(final int node,
+                  final int parent,
+                  final double distance,
+                  final double priority) {
+        if (isReached(node) && DISTANCE[node] <= distance) {
+            return false;
+        }
+        
+        reachedGenerations[node] = generation;
+        CLOSED[node] = 0;
+        PARENTS[node] = parent;
+        DISTANCE[node] = distance;
+        OPEN.add(node, priority);
+        return true;
+    }
+    
+    boolean isOpenEmpty() {
+        return OPEN.isEmpty();
+    }
+    
+    int getOpenSize() {
+        return OPEN.size();
+    }
+    
+    int peekMinimum() {
+        return OPEN.min();
+    }
+    
+    /**
+     * Removes the node with the lowest priority from the open list and puts it
+     * in the closed set.
+     *
+     * @return the settled node.
+     */
+    int settleMinimum() {
+        final int node = OPEN.extractMinimum();
+        CLOSED[node] = generation;
+        return node;
+    }
+    
+    /**
+     * Returns the node IDs on the path from the source to {@code node}.
+     *
+     * @param graph the searched graph.
+     * @param node  the last node of the path.
+     * @return the path.
+     */
+    List<Integer> tracebackPath(final IndexedDirectedGraph graph,
+                                final int node) {
+        final List<Integer> nodeList = new ArrayList<>();
+        int current = node;
+        
+        while (current != -1) {
+            nodeList.add(graph.getNodeId(current));
+            current = PARENTS[current];
+        }
+        
+        Collections.<Integer>reverse(nodeList);
+        return nodeList;
+    }
+}
@@ -0,0 +1,78 @@
+package net.coderodde.graph.tsp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds a sequence of changes to the arcs of a directed graph. An
+ * arc may be added, reweighted or removed; the nodes stay the same.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ * @see IncrementalTSPGraphPreprocessor
+ */
+public final class ArcChangeSet {
+    
+    /**
+     * Describes a single change. The weight of a removal is {@code NaN}.
+     */
+    static final class ArcChange {
+        
+        final int tail;
+        final int head;
+        final double weight;
+        
+        ArcChange(final int tail, final int head, final double weight) {
+            this.tail = tail;
+            this.head = head;
+            this.weight = weight;
+        }
+        
+        boolean isRemoval() {
+            return Double.isNaN(weight);
+        }
+    }
+    
+    private final List<ArcChange> changeList = new ArrayList<>();
+    
+    /**
+     * Adds the arc from {@code tail} to {@code head}, or changes its weight if
+     * it already exists.
+     * 
+     * @param tail   the tail node.
+     * @param head   the head node.
+     * @param weight the new weight of the arc.
+     */
+    public void setArc(final int tail, final int head, final double weight) {
+        if (Double.isNaN(weight) || weight < 0.0) {
+            throw new IllegalArgumentException(
+                    "The arc weight must be non-negative, received " + 
+                    weight + ".");
+        }
+        
+        changeList.add(new ArcChange(tail, head, weight));
+    }
+    
+    /**
+     * Removes the arc from {@code tail} to {@code head}, if it exists.
+     * 
+     * @param tail the tail node.
+     * @param head the head node.
+     */
+    public void removeArc(final int tail, final int head) {
+        changeList.add(new ArcChange(tail, head, Double.NaN));
+    }
+    
+    public int size() {
+        return changeList.size();
+    }
+    
+    public boolean isEmpty() {
+        return changeList.isEmpty();
+    }
+    
+    List<ArcChange> getChanges() {
+        return Collections.<ArcChange>unmodifiableList(changeList);
+    }
+}
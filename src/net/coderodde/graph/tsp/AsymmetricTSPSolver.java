@@ -1,6 +1,8 @@
 package net.coderodde.graph.tsp;
 
 import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.DenseDirectedGraph;
 import net.coderodde.graph.DirectedGraph;
 
 /**
@@ -11,9 +13,94 @@ import net.coderodde.graph.DirectedGraph;
  * @version 1.6 (Jul 20, 2016)
  */
 public abstract class AsymmetricTSPSolver {
-
+    
     public abstract List<Integer> solve(final DirectedGraph graph);
     
+    /**
+     * Solves the problem over a dense graph. The returned tour consists of the
+     * node IDs of {@code graph}. The default implementation converts the graph
+     * to a {@link DirectedGraph}; the solvers working on primitive cost 
+     * matrices override this method.
+     * 
+     * @param graph the graph to solve.
+     * @return the tour.
+     */
+    public List<Integer> solve(final DenseDirectedGraph graph) {
+        return solve(graph.toDirectedGraph());
+    }
+    
+    /**
+     * Solves the problem within a time limit, reporting each new best tour to
+     * {@code listener} as soon as it is found. Once the time limit runs out or
+     * {@code cancellationToken} is cancelled, the solver returns the best tour
+     * found so far, which is not necessarily optimal.
+     * 
+     * @param graph             the graph to solve.
+     * @param timeLimitMillis   the time limit in milliseconds, or
+     *                          {@link Long#MAX_VALUE} for no time limit.
+     * @param cancellationToken the cancellation token or {@code null}.
+     * @param listener          the listener of the new best tours or 
+     *                          {@code null}.
+     * @return the best tour found.
+     */
+    public List<Integer> solve(final DirectedGraph graph,
+                               final long timeLimitMillis,
+                               final CancellationToken cancellationToken,
+                               final TourListener listener) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return solve(new DenseDirectedGraph(graph),
+                     timeLimitMillis,
+                     cancellationToken,
+                     listener);
+    }
+    
+    /**
+     * Solves the problem over a dense graph within a time limit (see
+     * {@link #solve(DirectedGraph, long, CancellationToken, TourListener)}).
+     * The default implementation cannot stop early, and so accepts only a
+     * search without limits: it runs {@link #solve(DenseDirectedGraph)} to
+     * completion and reports its tour to the listener. The solvers able to
+     * return early override this method.
+     * 
+     * @param graph             the graph to solve.
+     * @param timeLimitMillis   the time limit in milliseconds, or
+     *                          {@link Long#MAX_VALUE} for no time limit.
+     * @param cancellationToken the cancellation token or {@code null}.
+     * @param listener          the listener of the new best tours or 
+     *                          {@code null}.
+     * @return the best tour found.
+     * @throws UnsupportedOperationException if the solver cannot stop early,
+     *                                       while a time limit or a
+     *                                       cancellation token is given.
+     */
+    public List<Integer> solve(final DenseDirectedGraph graph,
+                               final long timeLimitMillis,
+                               final CancellationToken cancellationToken,
+                               final TourListener listener) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        checkTimeLimit(timeLimitMillis);
+        
+        if (timeLimitMillis != Long.MAX_VALUE || cancellationToken != null) {
+            throw new UnsupportedOperationException(
+                    getClass().getName() + " cannot stop early, so it " +
+                    "accepts neither a time limit nor a cancellation token.");
+        }
+        
+        final List<Integer> tour = solve(graph);
+        
+        if (listener != null) {
+            final int[] nodeIndices = new int[tour.size()];
+            
+            for (int i = 0; i < nodeIndices.length; ++i) {
+                nodeIndices[i] = graph.getNodeIndex(tour.get(i));
+            }
+            
+            listener.onTourImproved(tour, getTourCost(graph, nodeIndices));
+        }
+        
+        return tour;
+    }
+    
     public static double getTourCost(final DirectedGraph graph, 
                                      final List<Integer> tour) {
         double cost = 0.0;
@@ -25,4 +112,34 @@ public abstract class AsymmetricTSPSolver {
         
         return cost;
     }
+    
+    /**
+     * Computes the cost of a tour given as node indices of a dense graph.
+     * 
+     * @param graph the dense graph.
+     * @param tour  the node indices in the order of visit.
+     * @return the cost of the tour.
+     */
+    public static double getTourCost(final DenseDirectedGraph graph,
+                                     final int[] tour) {
+        double cost = 0.0;
+        
+        for (int i = 0; i < tour.length; ++i) {
+            cost += graph.getEdgeWeight(tour[i], tour[(i + 1) % tour.length]);
+        }
+        
+        return cost;
+    }
+    
+    /**
+     * Checks that the time limit is not negative.
+     * 
+     * @param timeLimitMillis the time limit in milliseconds.
+     */
+    protected static void checkTimeLimit(final long timeLimitMillis) {
+        if (timeLimitMillis < 0L) {
+            throw new IllegalArgumentException(
+                    "The time limit is negative: " + timeLimitMillis + ".");
+        }
+    }
 }
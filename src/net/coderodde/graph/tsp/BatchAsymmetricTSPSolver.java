@@ -0,0 +1,196 @@
+package net.coderodde.graph.tsp;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import net.coderodde.graph.DenseDirectedGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.tsp.support.DefaultAsymmetricTSPSolver;
+
+/**
+ * This class solves many independent problem instances concurrently. Each
+ * instance is solved by a task submitted to an executor, and the results are
+ * returned as {@link CompletableFuture}s.
+ * <p>
+ * Since most solvers maintain state, a solver is never shared by two tasks
+ * running at the same time. Instead, a task borrows an idle solver from a
+ * pool, or creates a new one if the pool is empty, and returns the solver to
+ * the pool once done. Hence the solvers, together with their scratch arrays,
+ * are reused across the tasks, and there are never more solvers than tasks
+ * running at the same time. The pool keeps at most as many idle solvers as
+ * there are processors, so that a burst of tasks on an unbounded executor
+ * does not leave many idle solvers behind.
+ * <p>
+ * Just like the solvers, this class expects complete graphs (see
+ * {@link TSPGraphPreprocessor}). This class is thread-safe. The executor is
+ * not shut down by this class.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class BatchAsymmetricTSPSolver {
+    
+    private final Supplier<? extends AsymmetricTSPSolver> solverFactory;
+    private final Executor executor;
+    private final BlockingQueue<AsymmetricTSPSolver> idleSolvers;
+    
+    /**
+     * Constructs a batch solver running {@link DefaultAsymmetricTSPSolver}s
+     * on the common fork-join pool.
+     */
+    public BatchAsymmetricTSPSolver() {
+        this(DefaultAsymmetricTSPSolver::new);
+    }
+    
+    /**
+     * Constructs a batch solver running on the common fork-join pool.
+     *
+     * @param solverFactory the factory creating the solvers.
+     */
+    public BatchAsymmetricTSPSolver(
+            final Supplier<? extends AsymmetricTSPSolver> solverFactory) {
+        this(solverFactory, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Constructs a batch solver.
+     *
+     * @param solverFactory the factory creating the solvers.
+     * @param executor      the executor running the tasks.
+     */
+    public BatchAsymmetricTSPSolver(
+            final Supplier<? extends AsymmetricTSPSolver> solverFactory,
+            final Executor executor) {
+        this.solverFactory =
+                Objects.requireNonNull(solverFactory,
+                                       "The solver factory is null.");
+        this.executor = Objects.requireNonNull(executor,
+                                               "The executor is null.");
+        this.idleSolvers = new ArrayBlockingQueue<>(
+                Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Returns an executor starting a new virtual thread for each task. Virtual
+     * threads are cheap to create and block, which suits the batches of many
+     * small instances. This requires Java 21 or later.
+     *
+     * @return the executor.
+     * @throws UnsupportedOperationException if the running Java version does
+     *                                       not support virtual threads.
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            // Looked up reflectively, so that this class compiles against the
+            // Java versions without virtual threads.
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (final NoSuchMethodException ex) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads are not supported by this Java version.",
+                    ex);
+        } catch (final IllegalAccessException
+                     | InvocationTargetException ex) {
+            throw new IllegalStateException(
+                    "Could not create a virtual thread executor.", ex);
+        }
+    }
+    
+    /**
+     * Solves {@code graph} asynchronously.
+     *
+     * @param graph the graph to solve.
+     * @return the future tour.
+     */
+    public CompletableFuture<List<Integer>> solveAsync(
+            final DirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return CompletableFuture.supplyAsync(() -> solve(graph), executor);
+    }
+    
+    /**
+     * Solves the dense graph {@code graph} asynchronously.
+     *
+     * @param graph the graph to solve.
+     * @return the future tour.
+     */
+    public CompletableFuture<List<Integer>> solveAsync(
+            final DenseDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return CompletableFuture.supplyAsync(() -> solve(graph), executor);
+    }
+    
+    /**
+     * Solves all the graphs in {@code graphs} asynchronously. The returned
+     * future completes once all the graphs are solved; if any of the tasks
+     * fails, the future completes exceptionally.
+     *
+     * @param graphs the graphs to solve.
+     * @return the future list of tours in the order of {@code graphs}.
+     */
+    public CompletableFuture<List<List<Integer>>> solveAllAsync(
+            final List<? extends DirectedGraph> graphs) {
+        Objects.requireNonNull(graphs, "The graph list is null.");
+        final List<CompletableFuture<List<Integer>>> futures =
+                new ArrayList<>(graphs.size());
+        
+        for (final DirectedGraph graph : graphs) {
+            futures.add(solveAsync(graph));
+        }
+        
+        return CompletableFuture
+                .allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    final List<List<Integer>> tours =
+                            new ArrayList<>(futures.size());
+                    
+                    for (final CompletableFuture<List<Integer>> future
+                            : futures) {
+                        tours.add(future.join());
+                    }
+                    
+                    return tours;
+                });
+    }
+    
+    private List<Integer> solve(final DirectedGraph graph) {
+        final AsymmetricTSPSolver solver = borrowSolver();
+        
+        try {
+            return solver.solve(graph);
+        } finally {
+            idleSolvers.offer(solver);
+        }
+    }
+    
+    private List<Integer> solve(final DenseDirectedGraph graph) {
+        final AsymmetricTSPSolver solver = borrowSolver();
+        
+        try {
+            return solver.solve(graph);
+        } finally {
+            idleSolvers.offer(solver);
+        }
+    }
+    
+    private AsymmetricTSPSolver borrowSolver() {
+        final AsymmetricTSPSolver solver = idleSolvers.poll();
+        
+        if (solver != null) {
+            return solver;
+        }
+        
+        return Objects.requireNonNull(solverFactory.get(),
+                                      "The solver factory returned null.");
+    }
+}
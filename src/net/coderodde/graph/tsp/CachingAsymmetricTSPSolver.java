@@ -0,0 +1,190 @@
+package net.coderodde.graph.tsp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.DenseDirectedGraph;
+import net.coderodde.graph.DirectedGraph;
+
+/**
+ * This class decorates a solver with a cache of solved tours. Before solving a
+ * graph, the decorator computes its fingerprint (see {@link GraphFingerprint})
+ * and looks it up in a {@link TourCache}; only on a miss is the graph passed
+ * to the decorated solver, and the resulting tour is cached.
+ * <p>
+ * The tours are cached under a solver key, which defaults to the class name of
+ * the decorated solver. The decorators sharing a cache while decorating
+ * differently configured solvers of the same class, or using different
+ * preprocessors, must be given distinct keys.
+ * <p>
+ * The anytime variant of {@code solve} reports a cached tour to the listener
+ * and returns it. On a miss it forwards the call to the decorated solver, and
+ * caches the resulting tour only if the search was given neither a time limit
+ * nor a cancellation token, since otherwise the tour may be worse than the
+ * ones the solver finds without limits.
+ * <p>
+ * The decorator may also be given a {@link TSPGraphPreprocessor}, in which
+ * case it accepts the graphs that are not complete: the fingerprint is taken
+ * from the input graph before preprocessing, so that a hit skips both the
+ * preprocessing and the search.
+ * <p>
+ * The cache may be shared by several decorators, for example one per thread,
+ * while each decorator keeps the state of its solver. Hence this class is as
+ * thread-safe as the decorated solver.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class CachingAsymmetricTSPSolver extends AsymmetricTSPSolver {
+    
+    private final AsymmetricTSPSolver solver;
+    private final String solverKey;
+    private final TourCache cache;
+    private final TSPGraphPreprocessor preprocessor;
+    
+    /**
+     * Constructs a decorator with a cache of its own with the default size.
+     *
+     * @param solver the decorated solver.
+     */
+    public CachingAsymmetricTSPSolver(final AsymmetricTSPSolver solver) {
+        this(solver, new TourCache());
+    }
+    
+    /**
+     * Constructs a decorator that expects complete graphs.
+     *
+     * @param solver the decorated solver.
+     * @param cache  the cache of the tours.
+     */
+    public CachingAsymmetricTSPSolver(final AsymmetricTSPSolver solver,
+                                      final TourCache cache) {
+        this(solver, cache, null);
+    }
+    
+    /**
+     * Constructs a decorator whose solver key is the class name of the
+     * decorated solver.
+     *
+     * @param solver       the decorated solver.
+     * @param cache        the cache of the tours.
+     * @param preprocessor the preprocessor completing the input graphs on
+     *                     misses, or {@code null} if the input graphs are
+     *                     complete.
+     */
+    public CachingAsymmetricTSPSolver(final AsymmetricTSPSolver solver,
+                                      final TourCache cache,
+                                      final TSPGraphPreprocessor preprocessor) {
+        this(solver,
+             Objects.requireNonNull(solver, "The solver is null.")
+                    .getClass()
+                    .getName(),
+             cache,
+             preprocessor);
+    }
+    
+    /**
+     * Constructs a decorator.
+     *
+     * @param solver       the decorated solver.
+     * @param solverKey    the key identifying the configuration of the
+     *                     decorated solver and of the preprocessor in the
+     *                     cache.
+     * @param cache        the cache of the tours.
+     * @param preprocessor the preprocessor completing the input graphs on
+     *                     misses, or {@code null} if the input graphs are
+     *                     complete.
+     */
+    public CachingAsymmetricTSPSolver(final AsymmetricTSPSolver solver,
+                                      final String solverKey,
+                                      final TourCache cache,
+                                      final TSPGraphPreprocessor preprocessor) {
+        this.solver = Objects.requireNonNull(solver, "The solver is null.");
+        this.solverKey = Objects.requireNonNull(solverKey,
+                                                "The solver key is null.");
+        this.cache = Objects.requireNonNull(cache, "The cache is null.");
+        this.preprocessor = preprocessor;
+    }
+    
+    @Override
+    public List<Integer> solve(final DirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        final GraphFingerprint fingerprint = new GraphFingerprint(graph);
+        final List<Integer> cachedTour = cache.get(solverKey, fingerprint);
+        
+        if (cachedTour != null) {
+            return cachedTour;
+        }
+        
+        final DirectedGraph solvedGraph = preprocessGraph(graph);
+        final List<Integer> tour = solver.solve(solvedGraph);
+        cache.put(solverKey,
+                  fingerprint,
+                  tour,
+                  getTourCost(solvedGraph, tour));
+        return tour;
+    }
+    
+    @Override
+    public List<Integer> solve(final DirectedGraph graph,
+                               final long timeLimitMillis,
+                               final CancellationToken cancellationToken,
+                               final TourListener listener) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        checkTimeLimit(timeLimitMillis);
+        final GraphFingerprint fingerprint = new GraphFingerprint(graph);
+        final TourCache.CachedTour cachedTour =
+                cache.getCachedTour(solverKey, fingerprint);
+        
+        if (cachedTour != null) {
+            final List<Integer> tour = new ArrayList<>(cachedTour.tour);
+            
+            if (listener != null) {
+                listener.onTourImproved(tour, cachedTour.tourCost);
+            }
+            
+            return tour;
+        }
+        
+        final DirectedGraph solvedGraph = preprocessGraph(graph);
+        final List<Integer> tour = solver.solve(solvedGraph,
+                                                timeLimitMillis,
+                                                cancellationToken,
+                                                listener);
+        
+        if (timeLimitMillis == Long.MAX_VALUE && cancellationToken == null) {
+            cache.put(solverKey,
+                      fingerprint,
+                      tour,
+                      getTourCost(solvedGraph, tour));
+        }
+        
+        return tour;
+    }
+    
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph,
+                               final long timeLimitMillis,
+                               final CancellationToken cancellationToken,
+                               final TourListener listener) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return solve(graph.toDirectedGraph(),
+                     timeLimitMillis,
+                     cancellationToken,
+                     listener);
+    }
+    
+    public String getSolverKey() {
+        return solverKey;
+    }
+    
+    public TourCache getCache() {
+        return cache;
+    }
+    
+    private DirectedGraph preprocessGraph(final DirectedGraph graph) {
+        return preprocessor == null ?
+               graph :
+               preprocessor.preprocessGraph(graph);
+    }
+}
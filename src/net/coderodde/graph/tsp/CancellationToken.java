@@ -0,0 +1,33 @@
+package net.coderodde.graph.tsp;
+
+/**
+ * This class implements a flag by which one thread asks a solver running in
+ * another thread to stop. A solver honoring the token checks it periodically
+ * and, once it is cancelled, returns the best tour found so far. A token
+ * cannot be reset, so that each search gets a token of its own.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ * @see AsymmetricTSPSolver#solve(DirectedGraph, long, CancellationToken,
+ *                                TourListener)
+ */
+public final class CancellationToken {
+    
+    private volatile boolean cancelled;
+    
+    /**
+     * Asks the searches using this token to stop.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+    
+    /**
+     * Checks whether this token is cancelled.
+     *
+     * @return {@code true} if {@link #cancel()} has been called.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
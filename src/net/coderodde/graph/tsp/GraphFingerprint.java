@@ -0,0 +1,122 @@
+package net.coderodde.graph.tsp;
+
+import java.util.Arrays;
+import java.util.Objects;
+import net.coderodde.graph.DirectedGraph;
+
+/**
+ * This class implements a canonical fingerprint of a directed graph. Two
+ * graphs have equal fingerprints if and only if they have the same nodes and
+ * the same arcs with the same weights, regardless of the order in which the
+ * nodes and the arcs were added. The fingerprint is a snapshot: it does not
+ * follow the later modifications of the graph.
+ * <p>
+ * The fingerprint stores the graph in a compressed sparse row form with the
+ * nodes and the children of each node sorted by ID, so that the equality
+ * test never confuses two graphs with colliding hash codes.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ * @see TourCache
+ */
+public final class GraphFingerprint {
+    
+    private final int[] nodeIds;
+    
+    /**
+     * The children of the node {@code nodeIds[i]} are stored in 
+     * {@code childIds} from {@code childrenBegin[i]} inclusive to
+     * {@code childrenBegin[i + 1]} exclusive.
+     */
+    private final int[] childrenBegin;
+    private final int[] childIds;
+    
+    /**
+     * The bits of the arc weights parallel to {@code childIds}.
+     */
+    private final long[] weightBits;
+    private final int hashCode;
+    
+    /**
+     * Computes the fingerprint of {@code graph}.
+     * 
+     * @param graph the graph.
+     */
+    public GraphFingerprint(final DirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        final int n = graph.size();
+        this.nodeIds = new int[n];
+        this.childrenBegin = new int[n + 1];
+        
+        int index = 0;
+        int numberOfArcs = 0;
+        
+        for (final Integer node : graph.getAllNodes()) {
+            nodeIds[index++] = node;
+            numberOfArcs += graph.getChildrenOf(node).size();
+        }
+        
+        this.childIds = new int[numberOfArcs];
+        this.weightBits = new long[numberOfArcs];
+        
+        Arrays.sort(nodeIds);
+        int arc = 0;
+        
+        for (int i = 0; i < n; ++i) {
+            childrenBegin[i] = arc;
+            
+            for (final Integer child : graph.getChildrenOf(nodeIds[i])) {
+                childIds[arc++] = child;
+            }
+            
+            Arrays.sort(childIds, childrenBegin[i], arc);
+            
+            for (int j = childrenBegin[i]; j < arc; ++j) {
+                // Adding zero turns a negative zero into a positive one.
+                weightBits[j] = Double.doubleToLongBits(
+                        graph.getEdgeWeight(nodeIds[i], childIds[j]) + 0.0);
+            }
+        }
+        
+        childrenBegin[n] = arc;
+        
+        int hash = Arrays.hashCode(nodeIds);
+        hash = 31 * hash + Arrays.hashCode(childrenBegin);
+        hash = 31 * hash + Arrays.hashCode(childIds);
+        hash = 31 * hash + Arrays.hashCode(weightBits);
+        this.hashCode = hash;
+    }
+    
+    /**
+     * Returns the approximate number of bytes taken by this fingerprint.
+     * 
+     * @return the size in bytes.
+     */
+    public long getSizeInBytes() {
+        return 64L + 4L * (nodeIds.length + childrenBegin.length) 
+                   + 12L * childIds.length;
+    }
+    
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+    
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        
+        if (!(o instanceof GraphFingerprint)) {
+            return false;
+        }
+        
+        final GraphFingerprint other = (GraphFingerprint) o;
+        return hashCode == other.hashCode 
+                && Arrays.equals(nodeIds, other.nodeIds)
+                && Arrays.equals(childrenBegin, other.childrenBegin)
+                && Arrays.equals(childIds, other.childIds)
+                && Arrays.equals(weightBits, other.weightBits);
+    }
+}
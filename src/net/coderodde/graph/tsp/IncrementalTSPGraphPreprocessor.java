@@ -0,0 +1,292 @@
+package net.coderodde.graph.tsp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.coderodde.graph.DenseDirectedGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.shortestpath.DistanceMatrix;
+import net.coderodde.graph.shortestpath.support.DijkstraShortestPathFinder;
+
+/**
+ * This class maintains the complete graph of {@link TSPGraphPreprocessor}
+ * under small changes to the arcs of the input graph. It keeps the all-pairs
+ * distance matrix of the input graph, and updates only the entries affected
+ * by a change set:
+ * <ul>
+ *   <li>For each arc {@code (u, v)} that was added or got cheaper, the
+ *       distance from each {@code s} to each {@code t} is lowered to
+ *       {@code d(s, u) + w(u, v) + d(v, t)} if that is shorter, which takes
+ *       <tt>O(n^2)</tt> time.</li>
+ *   <li>For each arc {@code (u, v)} that was removed or got more expensive,
+ *       the distances from {@code s} may only grow if the arc lay on a
+ *       shortest path from {@code s}, that is, if
+ *       {@code d(s, u) + w(u, v) = d(s, v)}. Dijkstra's algorithm is rerun
+ *       only from such sources.</li>
+ * </ul>
+ * The rows of the rerun sources already account for all the changes, so the
+ * cheaper arcs are applied after the reruns.
+ * <p>
+ * The input graph is modified only through the change sets; any other
+ * modification invalidates the distance matrix. Note that this class
+ * maintains state, so that it must not be used by several threads at once.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class IncrementalTSPGraphPreprocessor {
+    
+    /**
+     * The relative tolerance of deciding whether an arc lies on a shortest
+     * path. The distances are sums of floating-point numbers added in 
+     * different orders, so exact comparison could miss an affected source.
+     */
+    private static final double TIGHTNESS_TOLERANCE = 1e-9;
+    
+    private final DirectedGraph graph;
+    private final int[] nodeIds;
+    private final List<Integer> nodeList;
+    private final Map<Integer, Integer> nodeIndexMap;
+    private final DijkstraShortestPathFinder finder =
+            new DijkstraShortestPathFinder();
+    
+    /**
+     * The all-pairs distance matrix of the input graph in row-major order.
+     */
+    private final double[] distances;
+    private int graphModificationCount;
+    private DenseDirectedGraph completeGraph;
+    private int numberOfRecomputedRows;
+    
+    /**
+     * Computes the complete graph of {@code graph} from scratch.
+     * 
+     * @param graph the input graph.
+     */
+    public IncrementalTSPGraphPreprocessor(final DirectedGraph graph) {
+        this.graph = Objects.requireNonNull(graph, "The input graph is null.");
+        this.nodeList = new ArrayList<>(graph.getAllNodes());
+        this.nodeIds = new int[nodeList.size()];
+        this.nodeIndexMap = new HashMap<>(2 * nodeIds.length);
+        
+        for (int i = 0; i < nodeIds.length; ++i) {
+            nodeIds[i] = nodeList.get(i);
+            nodeIndexMap.put(nodeIds[i], i);
+        }
+        
+        this.distances = 
+                finder.computeDistances(graph, nodeList, nodeList, false)
+                      .getDistances();
+        this.numberOfRecomputedRows = nodeIds.length;
+        this.graphModificationCount = graph.getModificationCount();
+        this.completeGraph = buildCompleteGraph();
+    }
+    
+    /**
+     * Returns the current complete graph.
+     * 
+     * @return the complete graph.
+     */
+    public DenseDirectedGraph getCompleteGraph() {
+        return completeGraph;
+    }
+    
+    /**
+     * Returns the number of distance matrix rows recomputed by Dijkstra's
+     * algorithm during the last update.
+     * 
+     * @return the number of recomputed rows.
+     */
+    public int getNumberOfRecomputedRows() {
+        return numberOfRecomputedRows;
+    }
+    
+    /**
+     * Applies the changes in {@code changeSet} to the input graph, and updates
+     * the complete graph accordingly.
+     * 
+     * @param changeSet the changes to apply.
+     * @return the updated complete graph.
+     * @throws IllegalArgumentException if the changed graph is not connected.
+     *                                  The changes are applied nevertheless,
+     *                                  so that a later change set may
+     *                                  reconnect the graph.
+     */
+    public DenseDirectedGraph update(final ArcChangeSet changeSet) {
+        Objects.requireNonNull(changeSet, "The change set is null.");
+        
+        if (graph.getModificationCount() != graphModificationCount) {
+            throw new IllegalStateException(
+                    "The input graph was modified outside of the change " +
+                    "sets.");
+        }
+        
+        for (final ArcChangeSet.ArcChange change : changeSet.getChanges()) {
+            if (!nodeIndexMap.containsKey(change.tail) 
+                    || !nodeIndexMap.containsKey(change.head)) {
+                throw new IllegalArgumentException(
+                        "The arc (" + change.tail + ", " + change.head + 
+                        ") has a node not in the input graph.");
+            }
+        }
+        
+        // Maps each changed arc to its weight before the changes, so that an 
+        // arc changed several times is handled by its net change.
+        final Map<Long, Double> originalWeightMap = new LinkedHashMap<>();
+        
+        for (final ArcChangeSet.ArcChange change : changeSet.getChanges()) {
+            final Long key = getArcKey(change.tail, change.head);
+            
+            if (!originalWeightMap.containsKey(key)) {
+                originalWeightMap.put(key, 
+                                      getArcWeight(change.tail, change.head));
+            }
+            
+            if (change.isRemoval()) {
+                graph.removeEdge(change.tail, change.head);
+            } else {
+                graph.addEdge(change.tail, change.head, change.weight);
+            }
+        }
+        
+        graphModificationCount = graph.getModificationCount();
+        
+        final int n = nodeIds.length;
+        final boolean[] affected = new boolean[n];
+        final List<int[]> cheaperArcList = new ArrayList<>();
+        
+        for (final Map.Entry<Long, Double> entry 
+                : originalWeightMap.entrySet()) {
+            final int tail = (int)(entry.getKey() >>> 32);
+            final int head = (int)(long) entry.getKey();
+            final double originalWeight = entry.getValue();
+            final double weight = getArcWeight(tail, head);
+            
+            if (weight < originalWeight) {
+                cheaperArcList.add(new int[]{ nodeIndexMap.get(tail), 
+                                              nodeIndexMap.get(head) });
+            } else if (weight > originalWeight) {
+                markAffectedSources(nodeIndexMap.get(tail),
+                                    nodeIndexMap.get(head),
+                                    originalWeight,
+                                    affected);
+            }
+        }
+        
+        recomputeRows(affected);
+        
+        for (final int[] arc : cheaperArcList) {
+            relaxThroughArc(arc[0], 
+                            arc[1], 
+                            getArcWeight(nodeIds[arc[0]], nodeIds[arc[1]]));
+        }
+        
+        completeGraph = buildCompleteGraph();
+        return completeGraph;
+    }
+    
+    private void markAffectedSources(final int tail,
+                                     final int head,
+                                     final double originalWeight,
+                                     final boolean[] affected) {
+        final int n = nodeIds.length;
+        
+        for (int s = 0; s < n; ++s) {
+            final double distanceToTail = distances[s * n + tail];
+            final double distanceToHead = distances[s * n + head];
+            
+            if (distanceToTail == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            
+            if (distanceToTail + originalWeight - distanceToHead 
+                    <= TIGHTNESS_TOLERANCE * Math.max(1.0, distanceToHead)) {
+                affected[s] = true;
+            }
+        }
+    }
+    
+    private void recomputeRows(final boolean[] affected) {
+        final int n = nodeIds.length;
+        final List<Integer> sourceList = new ArrayList<>();
+        
+        for (int s = 0; s < n; ++s) {
+            if (affected[s]) {
+                sourceList.add(nodeIds[s]);
+            }
+        }
+        
+        numberOfRecomputedRows = sourceList.size();
+        
+        if (sourceList.isEmpty()) {
+            return;
+        }
+        
+        final DistanceMatrix distanceMatrix =
+                finder.computeDistances(graph, sourceList, nodeList, false);
+        int row = 0;
+        
+        for (int s = 0; s < n; ++s) {
+            if (affected[s]) {
+                System.arraycopy(distanceMatrix.getDistances(),
+                                 row++ * n,
+                                 distances,
+                                 s * n,
+                                 n);
+            }
+        }
+    }
+    
+    /**
+     * Lowers each distance {@code d(s, t)} to 
+     * {@code d(s, tail) + weight + d(head, t)} if that is shorter. Neither the
+     * column {@code tail} nor the row {@code head} may change, so the matrix
+     * may be updated in place.
+     */
+    private void relaxThroughArc(final int tail,
+                                 final int head,
+                                 final double weight) {
+        final int n = nodeIds.length;
+        final int headRow = head * n;
+        
+        for (int s = 0; s < n; ++s) {
+            final int row = s * n;
+            final double distanceViaArc = distances[row + tail] + weight;
+            
+            if (distanceViaArc == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            
+            for (int t = 0; t < n; ++t) {
+                final double tentativeDistance = 
+                        distanceViaArc + distances[headRow + t];
+                
+                if (distances[row + t] > tentativeDistance) {
+                    distances[row + t] = tentativeDistance;
+                }
+            }
+        }
+    }
+    
+    private DenseDirectedGraph buildCompleteGraph() {
+        return TSPGraphPreprocessor.toCompleteGraph(graph, 
+                                                    nodeIds, 
+                                                    distances.clone());
+    }
+    
+    /**
+     * Returns the weight of the arc from {@code tail} to {@code head}, or 
+     * {@link Double#POSITIVE_INFINITY} if there is no such arc.
+     */
+    private double getArcWeight(final int tail, final int head) {
+        return graph.hasEdge(tail, head) ? graph.getEdgeWeight(tail, head) :
+                                           Double.POSITIVE_INFINITY;
+    }
+    
+    private static Long getArcKey(final int tail, final int head) {
+        return ((long) tail << 32) | (head & 0xffffffffL);
+    }
+}
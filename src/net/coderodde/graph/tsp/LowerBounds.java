@@ -0,0 +1,749 @@
+package net.coderodde.graph.tsp;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.DenseDirectedGraph;
+import net.coderodde.graph.tsp.support.LocalSearchAsymmetricTSPSolver;
+
+/**
+ * This class provides lower bounds on the cost of the cheapest tour over a
+ * cost matrix. The cost matrices are row-major {@code double} arrays, just
+ * like the ones backing {@link DenseDirectedGraph}; the diagonal is ignored,
+ * since no tour over two or more nodes uses a self-loop. Two bounds are
+ * available:
+ * <ul>
+ *   <li><b>Assignment bound:</b> a tour leaves and enters each node exactly
+ *       once, so that it is an assignment of a successor to each node. The
+ *       cheapest assignment is computed by the Hungarian algorithm in time
+ *       <tt>O(n^3)</tt>.</li>
+ *   <li><b>1-arborescence bound:</b> removing the arc entering the first
+ *       node of a tour leaves a spanning arborescence rooted at the first
+ *       node, so that the cheapest such arborescence plus the cheapest arc
+ *       entering the root bounds the tour cost. The bound is tightened by
+ *       Lagrangian relaxation of the constraint that each node is left
+ *       exactly once: the weights of the arcs leaving each node are shifted by
+ *       a penalty, and the penalties are adjusted by subgradient optimization,
+ *       as in the Held-Karp bound for the symmetric problem. Each iteration
+ *       computes an arborescence by Edmonds' algorithm in time
+ *       <tt>O(n^2)</tt>, contracting the cycles in place within a few
+ *       <tt>n x n</tt> matrices allocated once for all the iterations.</li>
+ * </ul>
+ * The bounds are also combined into a report of the optimality gap of a tour
+ * (see {@link OptimalityGap}).
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class LowerBounds {
+    
+    /**
+     * The default number of subgradient iterations.
+     */
+    public static final int DEFAULT_NUMBER_OF_ITERATIONS = 100;
+    
+    /**
+     * The number of subgradient iterations without improving the bound after
+     * which the step size is halved.
+     */
+    private static final int ITERATIONS_PER_STEP_SIZE = 10;
+    
+    private LowerBounds() {}
+    
+    /**
+     * Computes the assignment bound over a dense graph.
+     *
+     * @param graph the graph.
+     * @return the lower bound or {@link Double#POSITIVE_INFINITY} if the graph
+     *         has no tour of finite cost.
+     */
+    public static double computeAssignmentBound(
+            final DenseDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return computeAssignmentBound(graph.size(), toWeightArray(graph));
+    }
+    
+    /**
+     * Computes the assignment bound over a cost matrix.
+     *
+     * @param n       the number of nodes.
+     * @param weights the row-major cost matrix of length {@code n * n}.
+     * @return the lower bound or {@link Double#POSITIVE_INFINITY} if there is
+     *         no tour of finite cost.
+     */
+    public static double computeAssignmentBound(final int n,
+                                                final double[] weights) {
+        checkWeights(n, weights);
+        
+        if (n < 2) {
+            return 0.0;
+        }
+        
+        // The Hungarian algorithm over 1-based rows and columns. The row
+        // p[j] is assigned to the column j, and the column 0 is a sentinel
+        // holding the row being added.
+        final double[] u = new double[n + 1];
+        final double[] v = new double[n + 1];
+        final int[] p = new int[n + 1];
+        final int[] way = new int[n + 1];
+        final double[] minv = new double[n + 1];
+        final boolean[] used = new boolean[n + 1];
+        
+        for (int i = 1; i <= n; ++i) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            
+            do {
+                used[j0] = true;
+                final int i0 = p[j0];
+                double delta = Double.POSITIVE_INFINITY;
+                int j1 = -1;
+                
+                for (int j = 1; j <= n; ++j) {
+                    if (used[j]) {
+                        continue;
+                    }
+                    
+                    final double current =
+                            getWeight(n, weights, i0 - 1, j - 1) -
+                            u[i0] - v[j];
+                    
+                    if (minv[j] > current) {
+                        minv[j] = current;
+                        way[j] = j0;
+                    }
+                    
+                    if (delta > minv[j]) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                
+                if (j1 == -1) {
+                    // No column is reachable over finite arcs, so that the
+                    // row cannot be assigned.
+                    return Double.POSITIVE_INFINITY;
+                }
+                
+                for (int j = 0; j <= n; ++j) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                
+                j0 = j1;
+            } while (p[j0] != 0);
+            
+            do {
+                final int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+        
+        double cost = 0.0;
+        
+        for (int j = 1; j <= n; ++j) {
+            cost += getWeight(n, weights, p[j] - 1, j - 1);
+        }
+        
+        return cost;
+    }
+    
+    /**
+     * Computes the 1-arborescence bound over a dense graph. The upper bound
+     * steering the subgradient optimization is the cost of a tour found by
+     * {@link LocalSearchAsymmetricTSPSolver}.
+     *
+     * @param graph the graph.
+     * @return the lower bound or {@link Double#POSITIVE_INFINITY} if the graph
+     *         has no tour of finite cost.
+     */
+    public static double computeArborescenceBound(
+            final DenseDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        
+        if (graph.size() == 0) {
+            return 0.0;
+        }
+        
+        final List<Integer> tour =
+                new LocalSearchAsymmetricTSPSolver().solve(graph);
+        return computeArborescenceBound(graph.size(),
+                                        toWeightArray(graph),
+                                        getTourCost(graph, tour),
+                                        DEFAULT_NUMBER_OF_ITERATIONS);
+    }
+    
+    /**
+     * Computes the 1-arborescence bound over a cost matrix. The step size of
+     * the subgradient optimization is proportional to the difference between
+     * {@code upperBound} and the current bound, so that the closer the upper
+     * bound is to the cost of the cheapest tour, the faster the optimization
+     * converges. The optimization stops early if the bound reaches the upper
+     * bound or the arborescence turns out to be a tour.
+     *
+     * @param n                  the number of nodes.
+     * @param weights            the row-major cost matrix of length
+     *                           {@code n * n}.
+     * @param upperBound         the cost of any tour.
+     * @param numberOfIterations the maximum number of subgradient iterations.
+     * @return the lower bound or {@link Double#POSITIVE_INFINITY} if there is
+     *         no tour of finite cost.
+     */
+    public static double computeArborescenceBound(
+            final int n,
+            final double[] weights,
+            final double upperBound,
+            final int numberOfIterations) {
+        checkWeights(n, weights);
+        
+        if (numberOfIterations < 1) {
+            throw new IllegalArgumentException(
+                    "The number of iterations must be positive, received " +
+                    numberOfIterations + ".");
+        }
+        
+        if (n < 2) {
+            return 0.0;
+        }
+        
+        final ArborescenceFinder finder = new ArborescenceFinder(n, weights);
+        final double[] penalties = new double[n];
+        final int[] outDegrees = new int[n];
+        double bestBound = Double.NEGATIVE_INFINITY;
+        double stepSize = 2.0;
+        int iterationsWithoutImprovement = 0;
+        
+        for (int iteration = 0; iteration < numberOfIterations; ++iteration) {
+            final int[] parents =
+                    finder.findMinimumArborescence(penalties, 0);
+            
+            if (parents == null) {
+                return Double.POSITIVE_INFINITY;
+            }
+            
+            int rootParent = -1;
+            double rootArcWeight = Double.POSITIVE_INFINITY;
+            
+            for (int i = 1; i < n; ++i) {
+                final double weight = weights[i * n] + penalties[i];
+                
+                if (rootParent == -1 || rootArcWeight > weight) {
+                    rootParent = i;
+                    rootArcWeight = weight;
+                }
+            }
+            
+            if (rootArcWeight == Double.POSITIVE_INFINITY) {
+                return Double.POSITIVE_INFINITY;
+            }
+            
+            double bound = rootArcWeight;
+            Arrays.fill(outDegrees, 0);
+            outDegrees[rootParent]++;
+            
+            for (int node = 1; node < n; ++node) {
+                final int parent = parents[node];
+                bound += weights[parent * n + node] + penalties[parent];
+                outDegrees[parent]++;
+            }
+            
+            for (final double penalty : penalties) {
+                bound -= penalty;
+            }
+            
+            if (bestBound < bound) {
+                bestBound = bound;
+                iterationsWithoutImprovement = 0;
+            } else if (++iterationsWithoutImprovement ==
+                       ITERATIONS_PER_STEP_SIZE) {
+                stepSize /= 2.0;
+                iterationsWithoutImprovement = 0;
+            }
+            
+            int squaredNorm = 0;
+            
+            for (final int outDegree : outDegrees) {
+                squaredNorm += (outDegree - 1) * (outDegree - 1);
+            }
+            
+            if (squaredNorm == 0
+                    || !(upperBound > bestBound)
+                    || upperBound == Double.POSITIVE_INFINITY) {
+                // Either the arborescence is a tour, or the bound cannot be
+                // improved, or there is no upper bound to steer the steps.
+                break;
+            }
+            
+            final double step =
+                    stepSize * (upperBound - bound) / squaredNorm;
+            
+            for (int i = 0; i < n; ++i) {
+                penalties[i] += step * (outDegrees[i] - 1);
+            }
+        }
+        
+        return bestBound;
+    }
+    
+    /**
+     * Computes the optimality gap of {@code tour} over {@code graph}. The
+     * lower bound is the better of the assignment bound and the
+     * 1-arborescence bound steered by the cost of {@code tour}.
+     *
+     * @param graph the graph.
+     * @param tour  the tour.
+     * @return the optimality gap.
+     */
+    public static OptimalityGap computeOptimalityGap(
+            final DenseDirectedGraph graph,
+            final List<Integer> tour) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(tour, "The input tour is null.");
+        
+        if (tour.size() != graph.size()) {
+            throw new IllegalArgumentException(
+                    "The input tour has " + tour.size() + " nodes, while " +
+                    "the input graph has " + graph.size() + ".");
+        }
+        
+        final int n = graph.size();
+        final double[] weights = toWeightArray(graph);
+        final double tourCost = getTourCost(graph, tour);
+        final double lowerBound =
+                Math.max(computeAssignmentBound(n, weights),
+                         computeArborescenceBound(
+                                 n,
+                                 weights,
+                                 tourCost,
+                                 DEFAULT_NUMBER_OF_ITERATIONS));
+        return new OptimalityGap(tourCost, lowerBound);
+    }
+    
+    
+    private static double getWeight(final int n,
+                                    final double[] weights,
+                                    final int tail,
+                                    final int head) {
+        return tail == head ?
+               Double.POSITIVE_INFINITY :
+               weights[tail * n + head];
+    }
+    
+    private static double[] toWeightArray(final DenseDirectedGraph graph) {
+        final int n = graph.size();
+        final double[] weights = new double[n * n];
+        
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                weights[i * n + j] = graph.getEdgeWeight(i, j);
+            }
+        }
+        
+        return weights;
+    }
+    
+    private static double getTourCost(final DenseDirectedGraph graph,
+                                      final List<Integer> tour) {
+        final int[] nodeIndices = new int[tour.size()];
+        
+        for (int i = 0; i < nodeIndices.length; ++i) {
+            nodeIndices[i] = graph.getNodeIndex(tour.get(i));
+            
+            if (nodeIndices[i] == -1) {
+                throw new IllegalArgumentException(
+                        "The node " + tour.get(i) + " is not in the input " +
+                        "graph.");
+            }
+        }
+        
+        return AsymmetricTSPSolver.getTourCost(graph, nodeIndices);
+    }
+    
+    private static void checkWeights(final int n, final double[] weights) {
+        Objects.requireNonNull(weights, "The weight array is null.");
+        
+        if (n < 0) {
+            throw new IllegalArgumentException(
+                    "The number of nodes is negative: " + n + ".");
+        }
+        
+        if (weights.length != n * n) {
+            throw new IllegalArgumentException(
+                    "The weight array length " + weights.length +
+                    " does not match the number of nodes " + n + ".");
+        }
+    }
+    
+    /**
+     * This class computes minimum spanning arborescences over a cost matrix by
+     * Edmonds' algorithm, implemented for dense graphs in time
+     * <tt>O(n^2)</tt>. Each node other than the root picks its cheapest
+     * entering arc. While the picked arcs form cycles, each cycle is
+     * contracted into a single node, the weight of each arc entering the cycle
+     * is reduced by the weight of the picked arc it would replace, and the
+     * contracted node picks its cheapest entering arc.
+     * <p>
+     * The graph is contracted in place: the nodes of the current graph occupy
+     * the rows of a cost matrix, and a contracted node takes over the row of
+     * one of the nodes of its cycle, merging the rows of the others into it.
+     * The columns are the tails in the input graph, since contracting a cycle
+     * does not change the weights of the arcs leaving it; a node picking its
+     * arc only skips the columns of its own tails. The contractions form a
+     * forest whose leaves are the nodes of the input graph. Once no cycles are
+     * left, the arborescence is recovered from the top of the forest down: the
+     * arc picked by a contracted node enters one of its children, while each
+     * of the other children keeps the arc it picked in the cycle.
+     * <p>
+     * A new cycle contains a node that has just picked its arc, so that only
+     * the walks from those nodes are followed when looking for the cycles. A
+     * walk ends at a node known to reach the root, or at a node visited
+     * before; the nodes of a walk reaching the root are never walked again.
+     * <p>
+     * All the arrays are allocated once, so that a finder may be reused over
+     * many penalty vectors.
+     */
+    private static final class ArborescenceFinder {
+        
+        private static final int IN_CYCLE = -2;
+        
+        private final int n;
+        
+        // The input cost matrix, stored at 'head * n + tail', so that the arcs
+        // entering a node are contiguous.
+        private final double[] baseWeights;
+        
+        // The reduced weight of the cheapest arc from each tail into the node
+        // in each slot, stored at 'slot * n + tail', and the head of that arc.
+        private final double[] slotWeights;
+        private final int[] slotHeads;
+        
+        // The slot of the node containing each tail.
+        private final int[] tailSlots;
+        
+        private final int[] activeSlots;
+        private final int[] slotNodes;
+        private final int[] slotMarks;
+        private final int[] pendingSlots;
+        private final int[] cycleSlots;
+        private final int[] walkMarks;
+        private final boolean[] settled;
+        
+        // The slot of the tail of the arc picked by the node in each slot,
+        // or -1 if the node has not picked yet, and the weight of that arc.
+        private final int[] pickedSlots;
+        private final double[] pickedWeights;
+        
+        // The forest of contractions. The arcs are stored as
+        // 'tail * n + head'.
+        private final int[] pickedArcs;
+        private final int[] forestParents;
+        private final int[] firstChildren;
+        private final int[] nextSiblings;
+        
+        private final int[] stackNodes;
+        private final int[] stackArcs;
+        private final int[] parents;
+        
+        ArborescenceFinder(final int n, final double[] weights) {
+            this.n = n;
+            this.baseWeights = new double[n * n];
+            this.slotWeights = new double[n * n];
+            this.slotHeads = new int[n * n];
+            this.tailSlots = new int[n];
+            this.activeSlots = new int[n];
+            this.slotNodes = new int[n];
+            this.slotMarks = new int[n];
+            this.pendingSlots = new int[n];
+            this.cycleSlots = new int[n];
+            this.walkMarks = new int[n];
+            this.settled = new boolean[n];
+            this.pickedSlots = new int[n];
+            this.pickedWeights = new double[n];
+            this.pickedArcs = new int[2 * n];
+            this.forestParents = new int[2 * n];
+            this.firstChildren = new int[2 * n];
+            this.nextSiblings = new int[2 * n];
+            this.stackNodes = new int[2 * n];
+            this.stackArcs = new int[2 * n];
+            this.parents = new int[n];
+            
+            for (int tail = 0; tail < n; ++tail) {
+                for (int head = 0; head < n; ++head) {
+                    baseWeights[head * n + tail] =
+                            getWeight(n, weights, tail, head);
+                }
+            }
+        }
+        
+        /**
+         * Returns a parent array of a minimum spanning arborescence rooted at
+         * the node {@code root}. The weight of each arc is its weight in the
+         * cost matrix plus the penalty of its tail.
+         *
+         * @param penalties the penalty of each node.
+         * @param root      the root node.
+         * @return the parent of each node, with -1 for the root, or
+         *         {@code null} if some node is not reachable from the root.
+         *         The array is reused by the next call.
+         */
+        int[] findMinimumArborescence(final double[] penalties,
+                                      final int root) {
+            int numberOfPendingSlots = 0;
+            
+            for (int head = 0; head < n; ++head) {
+                final int row = head * n;
+                
+                for (int tail = 0; tail < n; ++tail) {
+                    slotWeights[row + tail] =
+                            baseWeights[row + tail] + penalties[tail];
+                }
+                
+                Arrays.fill(slotHeads, row, row + n, head);
+                tailSlots[head] = head;
+                activeSlots[head] = head;
+                slotNodes[head] = head;
+                slotMarks[head] = -1;
+                walkMarks[head] = -1;
+                settled[head] = head == root;
+                pickedSlots[head] = -1;
+                forestParents[head] = -1;
+                firstChildren[head] = -1;
+                
+                if (head != root) {
+                    pendingSlots[numberOfPendingSlots++] = head;
+                }
+            }
+            
+            int numberOfActiveSlots = n;
+            int numberOfForestNodes = n;
+            int numberOfWalks = 0;
+            
+            while (true) {
+                if (!pickArcs(numberOfPendingSlots)) {
+                    return null;
+                }
+                
+                final int numberOfCycles =
+                        findCycles(numberOfPendingSlots, numberOfWalks);
+                numberOfWalks += numberOfPendingSlots;
+                
+                if (numberOfCycles == 0) {
+                    break;
+                }
+                
+                for (int i = 0; i < numberOfCycles; ++i) {
+                    numberOfActiveSlots =
+                            contractCycle(cycleSlots[i],
+                                          numberOfForestNodes++,
+                                          numberOfActiveSlots);
+                    pendingSlots[i] = cycleSlots[i];
+                }
+                
+                numberOfPendingSlots = numberOfCycles;
+            }
+            
+            return expandArborescence(numberOfActiveSlots, root);
+        }
+        
+        /**
+         * Lets the node in each pending slot pick its cheapest entering arc.
+         *
+         * @return {@code false} if some node has no finite entering arc.
+         */
+        private boolean pickArcs(final int numberOfPendingSlots) {
+            for (int i = 0; i < numberOfPendingSlots; ++i) {
+                final int slot = pendingSlots[i];
+                final int row = slot * n;
+                int bestTail = -1;
+                
+                for (int tail = 0; tail < n; ++tail) {
+                    if (tailSlots[tail] != slot && (bestTail == -1 ||
+                            slotWeights[row + bestTail] >
+                            slotWeights[row + tail])) {
+                        bestTail = tail;
+                    }
+                }
+                
+                final double weight = slotWeights[row + bestTail];
+                
+                if (weight == Double.POSITIVE_INFINITY) {
+                    return false;
+                }
+                
+                pickedSlots[slot] = tailSlots[bestTail];
+                pickedWeights[slot] = weight;
+                pickedArcs[slotNodes[slot]] =
+                        bestTail * n + slotHeads[row + bestTail];
+            }
+            
+            return true;
+        }
+        
+        /**
+         * Stores a slot of each cycle of the picked arcs in
+         * {@code cycleSlots}. Each walk starts at a pending slot and marks
+         * the slots it visits by its number, which is at least
+         * {@code firstWalk}; it closes a new cycle if it runs into a slot
+         * marked by itself.
+         *
+         * @return the number of cycles.
+         */
+        private int findCycles(final int numberOfPendingSlots,
+                               final int firstWalk) {
+            int numberOfCycles = 0;
+            
+            for (int i = 0; i < numberOfPendingSlots; ++i) {
+                final int walk = firstWalk + i;
+                final int start = pendingSlots[i];
+                int slot = start;
+                
+                while (!settled[slot] && walkMarks[slot] < firstWalk) {
+                    walkMarks[slot] = walk;
+                    slot = pickedSlots[slot];
+                }
+                
+                if (settled[slot]) {
+                    // The walk reaches the root, and so do all its slots.
+                    slot = start;
+                    
+                    while (!settled[slot]) {
+                        settled[slot] = true;
+                        slot = pickedSlots[slot];
+                    }
+                } else if (walkMarks[slot] == walk) {
+                    cycleSlots[numberOfCycles++] = slot;
+                }
+            }
+            
+            return numberOfCycles;
+        }
+        
+        /**
+         * Contracts the cycle through {@code cycleSlot} into the forest node
+         * {@code node}, which takes over the slot {@code cycleSlot}.
+         *
+         * @return the new number of active slots.
+         */
+        private int contractCycle(final int cycleSlot,
+                                  final int node,
+                                  final int numberOfActiveSlots) {
+            forestParents[node] = -1;
+            firstChildren[node] = -1;
+            int slot = cycleSlot;
+            
+            do {
+                final int child = slotNodes[slot];
+                forestParents[child] = node;
+                nextSiblings[child] = firstChildren[node];
+                firstChildren[node] = child;
+                slotMarks[slot] = IN_CYCLE;
+                slot = pickedSlots[slot];
+            } while (slot != cycleSlot);
+            
+            // Merge the reduced rows of the cycle into the row of
+            // 'cycleSlot'.
+            final int cycleRow = cycleSlot * n;
+            
+            do {
+                final int row = slot * n;
+                final double pickedWeight = pickedWeights[slot];
+                
+                for (int tail = 0; tail < n; ++tail) {
+                    final double reducedWeight =
+                            slotWeights[row + tail] - pickedWeight;
+                    
+                    if (slot == cycleSlot
+                            || slotWeights[cycleRow + tail] > reducedWeight) {
+                        slotWeights[cycleRow + tail] = reducedWeight;
+                        slotHeads[cycleRow + tail] = slotHeads[row + tail];
+                    }
+                }
+                
+                slot = pickedSlots[slot];
+            } while (slot != cycleSlot);
+            
+            for (int tail = 0; tail < n; ++tail) {
+                if (slotMarks[tailSlots[tail]] == IN_CYCLE) {
+                    tailSlots[tail] = cycleSlot;
+                }
+            }
+            
+            int numberOfRemainingSlots = 0;
+            
+            for (int i = 0; i < numberOfActiveSlots; ++i) {
+                final int otherSlot = activeSlots[i];
+                
+                if (slotMarks[otherSlot] == IN_CYCLE) {
+                    continue;
+                }
+                
+                activeSlots[numberOfRemainingSlots++] = otherSlot;
+                
+                // The arc picked from the cycle is still the cheapest one
+                // entering the other node, now from the contracted node.
+                final int pickedSlot = pickedSlots[otherSlot];
+                
+                if (pickedSlot != -1 && slotMarks[pickedSlot] == IN_CYCLE) {
+                    pickedSlots[otherSlot] = cycleSlot;
+                }
+            }
+            
+            activeSlots[numberOfRemainingSlots++] = cycleSlot;
+            slotNodes[cycleSlot] = node;
+            slotMarks[cycleSlot] = cycleSlot;
+            pickedSlots[cycleSlot] = -1;
+            return numberOfRemainingSlots;
+        }
+        
+        private int[] expandArborescence(final int numberOfActiveSlots,
+                                         final int root) {
+            int stackSize = 0;
+            
+            for (int i = 0; i < numberOfActiveSlots; ++i) {
+                final int slot = activeSlots[i];
+                
+                if (slot != root) {
+                    stackNodes[stackSize] = slotNodes[slot];
+                    stackArcs[stackSize++] = pickedArcs[slotNodes[slot]];
+                }
+            }
+            
+            parents[root] = -1;
+            
+            while (stackSize > 0) {
+                final int node = stackNodes[--stackSize];
+                final int arc = stackArcs[stackSize];
+                
+                if (node < n) {
+                    parents[node] = arc / n;
+                    continue;
+                }
+                
+                // Find the child containing the head of the arc.
+                int enteredChild = arc % n;
+                
+                while (forestParents[enteredChild] != node) {
+                    enteredChild = forestParents[enteredChild];
+                }
+                
+                for (int child = firstChildren[node];
+                         child != -1;
+                         child = nextSiblings[child]) {
+                    stackNodes[stackSize] = child;
+                    stackArcs[stackSize++] = child == enteredChild ?
+                                             arc :
+                                             pickedArcs[child];
+                }
+            }
+            
+            return parents;
+        }
+    }
+}
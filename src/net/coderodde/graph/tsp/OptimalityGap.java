@@ -0,0 +1,67 @@
+package net.coderodde.graph.tsp;
+
+/**
+ * This class reports how far the cost of a tour may be from the cost of an
+ * optimal tour, given a lower bound on the latter (see {@link LowerBounds}).
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class OptimalityGap {
+    
+    private final double tourCost;
+    private final double lowerBound;
+    
+    /**
+     * Constructs a report.
+     * 
+     * @param tourCost   the cost of the tour.
+     * @param lowerBound the lower bound on the cost of an optimal tour.
+     */
+    public OptimalityGap(final double tourCost, final double lowerBound) {
+        this.tourCost = tourCost;
+        this.lowerBound = lowerBound;
+    }
+    
+    public double getTourCost() {
+        return tourCost;
+    }
+    
+    public double getLowerBound() {
+        return lowerBound;
+    }
+    
+    /**
+     * Returns the difference between the tour cost and the lower bound. The
+     * tour is at most this much more expensive than an optimal tour.
+     * 
+     * @return the absolute gap.
+     */
+    public double getAbsoluteGap() {
+        return tourCost - lowerBound;
+    }
+    
+    /**
+     * Returns the absolute gap relative to the lower bound. For example, the
+     * relative gap of {@code 0.05} means that the tour is at most five 
+     * percent more expensive than an optimal tour.
+     * 
+     * @return the relative gap, or {@link Double#POSITIVE_INFINITY} if the
+     *         lower bound is zero and the tour cost is not.
+     */
+    public double getRelativeGap() {
+        if (tourCost == lowerBound) {
+            return 0.0;
+        }
+        
+        return lowerBound == 0.0 ?
+               Double.POSITIVE_INFINITY :
+               getAbsoluteGap() / Math.abs(lowerBound);
+    }
+    
+    @Override
+    public String toString() {
+        return "[tour cost: " + tourCost + ", lower bound: " + lowerBound +
+               ", gap: " + getRelativeGap() + "]";
+    }
+}
@@ -0,0 +1,152 @@
+package net.coderodde.graph.tsp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.DenseDirectedGraph;
+
+/**
+ * This class holds a complete graph built by {@link TSPGraphPreprocessor}
+ * together with the information needed for expanding its arcs back into walks
+ * in the input graph. An arc that appears in the input graph expands to
+ * itself. Any other arc expands to the shortest path its weight was computed
+ * from.
+ * <p>
+ * The shortest paths are stored compactly: for each node of the complete
+ * graph, only the part of its shortest path tree lying on the paths to the
+ * other nodes is kept, as an array of node IDs and an array of parent
+ * positions.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class TSPGraphCompletion {
+    
+    private final DenseDirectedGraph completeGraph;
+    
+    /**
+     * {@code treeNodeIds[i]} holds the node IDs of the pruned shortest path
+     * tree rooted at the {@code i}th node of the complete graph.
+     */
+    private final int[][] treeNodeIds;
+    
+    /**
+     * {@code treeParents[i][k]} is the position of the parent of the
+     * {@code k}th tree node in {@code treeNodeIds[i]}, or -1 for the root.
+     */
+    private final int[][] treeParents;
+    
+    /**
+     * {@code targetPositions[i * n + j]} is the position of the {@code j}th
+     * node in the tree of the {@code i}th node, or -1 if the arc from the
+     * {@code i}th to the {@code j}th node appears in the input graph.
+     */
+    private final int[] targetPositions;
+    
+    TSPGraphCompletion(final DenseDirectedGraph completeGraph,
+                       final int[][] treeNodeIds,
+                       final int[][] treeParents,
+                       final int[] targetPositions) {
+        this.completeGraph = completeGraph;
+        this.treeNodeIds = treeNodeIds;
+        this.treeParents = treeParents;
+        this.targetPositions = targetPositions;
+    }
+    
+    /**
+     * Returns the complete graph.
+     *
+     * @return the complete graph.
+     */
+    public DenseDirectedGraph getCompleteGraph() {
+        return completeGraph;
+    }
+    
+    /**
+     * Expands the arc from {@code tail} to {@code head} into a walk in the
+     * input graph.
+     *
+     * @param tail the ID of the tail node.
+     * @param head the ID of the head node.
+     * @return the node IDs on the walk, starting at {@code tail} and ending at
+     *         {@code head}.
+     */
+    public List<Integer> expandArc(final int tail, final int head) {
+        final List<Integer> walk = new ArrayList<>();
+        appendArc(walk, getIndex(tail), getIndex(head));
+        walk.add(head);
+        return walk;
+    }
+    
+    /**
+     * Expands a tour over the complete graph into a closed walk in the input
+     * graph. Like the tour, the walk is cyclic: its last node is followed by
+     * its first node. The walk may visit a node more than once.
+     *
+     * @param tour the tour to expand.
+     * @return the node IDs on the walk, starting at the first node of the
+     *         tour.
+     */
+    public List<Integer> expandTour(final List<Integer> tour) {
+        Objects.requireNonNull(tour, "The tour is null.");
+        
+        if (tour.size() < 2) {
+            return new ArrayList<>(tour);
+        }
+        
+        final List<Integer> walk = new ArrayList<>();
+        
+        for (int i = 0; i < tour.size(); ++i) {
+            appendArc(walk,
+                      getIndex(tour.get(i)),
+                      getIndex(tour.get((i + 1) % tour.size())));
+        }
+        
+        return walk;
+    }
+    
+    private int getIndex(final Integer nodeId) {
+        Objects.requireNonNull(nodeId, "A node is null.");
+        final int index = completeGraph.getNodeIndex(nodeId);
+        
+        if (index == -1) {
+            throw new IllegalArgumentException(
+                    "The node " + nodeId + " is not in the complete graph.");
+        }
+        
+        return index;
+    }
+    
+    /**
+     * Appends the walk of the arc from the {@code tail}th to the
+     * {@code head}th node to {@code walk}, excluding the head node.
+     */
+    private void appendArc(final List<Integer> walk,
+                           final int tail,
+                           final int head) {
+        if (tail == head) {
+            throw new IllegalArgumentException(
+                    "The complete graph has no self-loops.");
+        }
+        
+        final int n = completeGraph.size();
+        int position = targetPositions[tail * n + head];
+        
+        if (position == -1) {
+            walk.add(completeGraph.getNodeId(tail));
+            return;
+        }
+        
+        final int start = walk.size();
+        
+        // Skip the head node, and collect the rest back to the root.
+        for (position = treeParents[tail][position];
+                position != -1;
+                position = treeParents[tail][position]) {
+            walk.add(treeNodeIds[tail][position]);
+        }
+        
+        Collections.<Integer>reverse(walk.subList(start, walk.size()));
+    }
+}
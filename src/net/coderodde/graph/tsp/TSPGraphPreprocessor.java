@@ -1,62 +1,716 @@
 package net.coderodde.graph.tsp;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import net.coderodde.graph.DenseDirectedGraph;
 import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.IndexedDirectedGraph;
+import net.coderodde.graph.shortestpath.DistanceMatrix;
+import net.coderodde.graph.shortestpath.ShortestDistanceFinder;
 import net.coderodde.graph.shortestpath.ShortestPathFinder;
 import net.coderodde.graph.shortestpath.support.DijkstraShortestPathFinder;
+import net.coderodde.util.IntPriorityQueue;
+import net.coderodde.util.support.IntDaryHeap;
 
 /**
  * This class provides a method for converting a directed graph into a complete
  * directed graph. For each arc that does not appear in the input graph, this
- * class facilities compute a shortest path between the terminal nodes of the 
+ * class facilities compute a shortest path between the terminal nodes of the
  * arc, and adds a missing arc with the weight set to the shortest distance.
- * 
+ * <p>
+ * The shortest distances may be computed in several ways (see
+ * {@link CompletionMode}). By default, the preprocessor picks between running
+ * Dijkstra's algorithm once from each node and the Floyd-Warshall algorithm
+ * depending on the density of the input graph. The computation may be spread
+ * over an executor, since the rows of the distance matrix are independent of
+ * each other.
+ * <p>
+ * The graph may also be completed over a subset of its nodes, the terminals,
+ * in which case the shortest paths may still pass through the other nodes.
+ * If the tours are to be executed on the input graph, use
+ * {@link #completeGraph(DirectedGraph)}, which keeps the shortest paths of the
+ * missing arcs for expanding the tours (see {@link TSPGraphCompletion}).
+ *
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Jul 21, 2016)
  */
 public class TSPGraphPreprocessor {
-   
+    
+    /**
+     * Enumerates the ways of computing the weights of the missing arcs.
+     */
+    public enum CompletionMode {
+        
+        /**
+         * Asks the shortest path finder for the distances. If the finder is
+         * a {@link ShortestDistanceFinder}, the distances are computed one
+         * block of source rows at a time without materializing the paths;
+         * otherwise, a shortest path query is run for each missing arc. The
+         * jobs completing different subsets of the same graph may share the
+         * distance rows by using {@code CachingShortestDistanceFinder}s over
+         * a single {@code DistanceRowCache}.
+         */
+        PAIRWISE,
+        
+        /**
+         * Runs Dijkstra's algorithm once from each node, which computes the
+         * distances to all other nodes at once. Runs in time
+         * <tt>O(n (m + n) log n)</tt>.
+         */
+        SINGLE_SOURCE,
+        
+        /**
+         * Runs the Floyd-Warshall algorithm over a dense distance matrix. Runs
+         * in time <tt>O(n^3)</tt>, which pays off on dense graphs.
+         */
+        FLOYD_WARSHALL,
+        
+        /**
+         * Chooses {@link #FLOYD_WARSHALL} if <tt>n^2 &le; (m + n) log n</tt>,
+         * and {@link #SINGLE_SOURCE} otherwise.
+         */
+        AUTOMATIC
+    }
+    
+    /**
+     * Computes the rows {@code fromRow, ..., toRow - 1} of a distance matrix.
+     */
+    private interface RowBlockTask {
+        void computeRows(int fromRow, int toRow);
+    }
+    
+    /**
+     * The number of row blocks per worker thread in the parallel mode. Having 
+     * more blocks than threads balances the load when the rows take uneven 
+     * time.
+     */
+    private static final int ROW_BLOCKS_PER_THREAD = 4;
+    
+    private final CompletionMode completionMode;
+    
+    /**
+     * Creates the shortest path finders for the pairwise mode and the terminal
+     * subsets, one per row block.
+     */
+    private final Supplier<? extends ShortestPathFinder> 
+            shortestPathFinderFactory;
+    
+    /**
+     * The executor running the row blocks, or {@code null} if the 
+     * preprocessing is single-threaded.
+     */
+    private final ExecutorService executor;
+    
+    private final int parallelism;
+    
+    public TSPGraphPreprocessor() {
+        this(CompletionMode.AUTOMATIC);
+    }
+    
+    public TSPGraphPreprocessor(final CompletionMode completionMode) {
+        this(completionMode, DijkstraShortestPathFinder::new);
+    }
+    
+    /**
+     * Constructs a preprocessor that uses the shortest path finders created by
+     * {@code shortestPathFinderFactory} in the pairwise mode and for the
+     * terminal subsets.
+     * 
+     * @param completionMode            the completion mode.
+     * @param shortestPathFinderFactory the factory of the shortest path 
+     *                                  finders.
+     */
+    public TSPGraphPreprocessor(
+            final CompletionMode completionMode,
+            final Supplier<? extends ShortestPathFinder> 
+                    shortestPathFinderFactory) {
+        this.completionMode =
+                Objects.requireNonNull(completionMode,
+                                       "The completion mode is null.");
+        this.shortestPathFinderFactory = 
+                Objects.requireNonNull(shortestPathFinderFactory,
+                                       "The finder factory is null.");
+        this.executor = null;
+        this.parallelism = 1;
+    }
+    
+    /**
+     * Constructs a preprocessor that splits the distance matrix into blocks of
+     * source rows and computes them on the executor {@code executor}. Each 
+     * block is computed in its own buffers, so the input graph is only read.
+     * The executor is not shut down by this preprocessor.
+     * 
+     * @param completionMode the completion mode.
+     * @param executor       the executor, for example, a 
+     *                       {@link java.util.concurrent.ForkJoinPool}.
+     * @param parallelism    the number of threads of the executor.
+     */
+    public TSPGraphPreprocessor(final CompletionMode completionMode,
+                                final ExecutorService executor,
+                                final int parallelism) {
+        this(completionMode, 
+             DijkstraShortestPathFinder::new, 
+             executor, 
+             parallelism);
+    }
+    
+    /**
+     * Constructs a preprocessor that computes the blocks of source rows on the
+     * executor {@code executor}, using the shortest path finders created by 
+     * {@code shortestPathFinderFactory} in the pairwise mode and for the
+     * terminal subsets. Each block creates its own finder, so the finders
+     * that index the graph should share a prebuilt index, as in
+     * {@code () -> new AltShortestPathFinder(landmarkIndex)}.
+     * 
+     * @param completionMode            the completion mode.
+     * @param shortestPathFinderFactory the factory of the shortest path 
+     *                                  finders.
+     * @param executor                  the executor.
+     * @param parallelism               the number of threads of the executor.
+     */
+    public TSPGraphPreprocessor(
+            final CompletionMode completionMode,
+            final Supplier<? extends ShortestPathFinder> 
+                    shortestPathFinderFactory,
+            final ExecutorService executor,
+            final int parallelism) {
+        this.completionMode =
+                Objects.requireNonNull(completionMode,
+                                       "The completion mode is null.");
+        this.shortestPathFinderFactory = 
+                Objects.requireNonNull(shortestPathFinderFactory,
+                                       "The finder factory is null.");
+        this.executor = Objects.requireNonNull(executor, 
+                                               "The executor is null.");
+        
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be at least 1, received " + 
+                    parallelism + ".");
+        }
+        
+        this.parallelism = parallelism;
+    }
+    
     public DirectedGraph preprocessGraph(final DirectedGraph graph) {
-        final DirectedGraph workGraph = new DirectedGraph();
-        final ShortestPathFinder shortestPathFinder = 
-                new DijkstraShortestPathFinder();
+        return preprocessGraphToDense(graph).toDirectedGraph();
+    }
+    
+    /**
+     * Converts the input graph into a complete directed graph represented by a
+     * dense cost matrix. The node indices follow the iteration order of
+     * {@link DirectedGraph#getAllNodes()}.
+     *
+     * @param graph the graph to complete.
+     * @return the complete graph.
+     */
+    public DenseDirectedGraph preprocessGraphToDense(final DirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
         
-        for (final Integer node : graph.getAllNodes()) {
-            workGraph.addNode(node);
+        switch (selectCompletionMode(graph)) {
+            case PAIRWISE:
+                return completePairwise(graph, getNodeIds(graph));
+            
+            case SINGLE_SOURCE:
+                return completeBySingleSource(graph);
+            
+            default:
+                return completeByFloydWarshall(graph);
         }
+    }
+    
+    /**
+     * Converts the input graph into a complete directed graph over the nodes
+     * in {@code terminals}. The weight of each arc that does not appear in the
+     * input graph is the length of a shortest path in the entire input graph.
+     * The distances are always computed by the shortest path finders, as in
+     * the pairwise mode, since the other modes compute the distances between
+     * all the nodes.
+     *
+     * @param graph     the graph to complete.
+     * @param terminals the nodes of the complete graph, in the order of their
+     *                  indices.
+     * @return the complete graph.
+     */
+    public DenseDirectedGraph preprocessGraphToDense(
+            final DirectedGraph graph,
+            final List<Integer> terminals) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return completePairwise(graph, getTerminalIds(graph, terminals));
+    }
+    
+    public DirectedGraph preprocessGraph(final DirectedGraph graph,
+                                         final List<Integer> terminals) {
+        return preprocessGraphToDense(graph, terminals).toDirectedGraph();
+    }
+    
+    /**
+     * Converts the input graph into a complete directed graph, and keeps the
+     * shortest paths of the missing arcs, so that the tours over the complete
+     * graph may be expanded into walks in the input graph. The distances are
+     * computed by the shortest path finders, as in the pairwise mode; if they
+     * cannot compute the distances without materializing the paths, 
+     * {@link DijkstraShortestPathFinder} is used instead.
+     *
+     * @param graph the graph to complete.
+     * @return the complete graph with the paths of its arcs.
+     */
+    public TSPGraphCompletion completeGraph(final DirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return completeWithPaths(graph, getNodeIds(graph));
+    }
+    
+    /**
+     * Converts the input graph into a complete directed graph over the nodes
+     * in {@code terminals}, and keeps the shortest paths of the missing arcs.
+     *
+     * @param graph     the graph to complete.
+     * @param terminals the nodes of the complete graph, in the order of their
+     *                  indices.
+     * @return the complete graph with the paths of its arcs.
+     * @see #completeGraph(DirectedGraph)
+     */
+    public TSPGraphCompletion completeGraph(final DirectedGraph graph,
+                                           final List<Integer> terminals) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return completeWithPaths(graph, getTerminalIds(graph, terminals));
+    }
+    
+    private CompletionMode selectCompletionMode(final DirectedGraph graph) {
+        if (completionMode != CompletionMode.AUTOMATIC) {
+            return completionMode;
+        }
+        
+        final double n = graph.size();
+        final double m = graph.getNumberOfEdges();
+        final double log = Math.max(1.0, Math.log(n) / Math.log(2.0));
+        
+        return n * n <= (m + n) * log ? CompletionMode.FLOYD_WARSHALL :
+                                        CompletionMode.SINGLE_SOURCE;
+    }
+    
+    /**
+     * Completes the graph over the nodes {@code nodeIds} using the shortest
+     * path finders.
+     *
+     * @param graph   the graph to complete.
+     * @param nodeIds the nodes of the complete graph.
+     * @return the complete graph.
+     */
+    private DenseDirectedGraph completePairwise(final DirectedGraph graph,
+                                                final int[] nodeIds) {
+        final int n = nodeIds.length;
+        final List<Integer> nodeList = toList(nodeIds);
+        final double[] weights = new double[n * n];
         
-        final Set<Integer> nodeSet = graph.getAllNodes();
+        Arrays.fill(weights, Double.POSITIVE_INFINITY);
         
-        for (final Integer nodeA : nodeSet) {
-            for (final Integer nodeB : nodeSet) {
-                if (nodeA.equals(nodeB)) {
-                    continue;
+        forEachRowBlock(n, (fromRow, toRow) -> {
+            final ShortestPathFinder shortestPathFinder =
+                    shortestPathFinderFactory.get();
+            
+            if (shortestPathFinder instanceof ShortestDistanceFinder) {
+                final DistanceMatrix distanceMatrix =
+                        ((ShortestDistanceFinder) shortestPathFinder)
+                        .computeDistances(graph,
+                                          nodeList.subList(fromRow, toRow),
+                                          nodeList,
+                                          false);
+                System.arraycopy(distanceMatrix.getDistances(),
+                                 0,
+                                 weights,
+                                 fromRow * n,
+                                 (toRow - fromRow) * n);
+                return;
+            }
+            
+            for (int i = fromRow; i < toRow; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    if (i == j || graph.hasEdge(nodeIds[i], nodeIds[j])) {
+                        // Set by 'toCompleteGraph'.
+                        continue;
+                    }
+                    
+                    final List<Integer> shortestPath =
+                            shortestPathFinder.findShortestPath(graph,
+                                                                nodeIds[i],
+                                                                nodeIds[j]);
+                    
+                    if (!shortestPath.isEmpty()) {
+                        weights[i * n + j] = getPathCost(graph, shortestPath);
+                    }
                 }
+            }
+        });
+        
+        return toCompleteGraph(graph, nodeIds, weights);
+    }
+    
+    private TSPGraphCompletion completeWithPaths(final DirectedGraph graph,
+                                                 final int[] nodeIds) {
+        final int n = nodeIds.length;
+        final List<Integer> nodeList = toList(nodeIds);
+        final double[] weights = new double[n * n];
+        final int[][] treeNodeIds = new int[n][];
+        final int[][] treeParents = new int[n][];
+        final int[] targetPositions = new int[n * n];
+        
+        forEachRowBlock(n, (fromRow, toRow) -> {
+            final ShortestPathFinder shortestPathFinder =
+                    shortestPathFinderFactory.get();
+            final ShortestDistanceFinder shortestDistanceFinder =
+                    shortestPathFinder instanceof ShortestDistanceFinder ?
+                    (ShortestDistanceFinder) shortestPathFinder :
+                    new DijkstraShortestPathFinder();
+            final Map<Integer, Integer> positionMap = new HashMap<>();
+            final List<Integer> treeNodeList = new ArrayList<>();
+            final List<Integer> treeParentList = new ArrayList<>();
+            
+            for (int i = fromRow; i < toRow; ++i) {
+                final DistanceMatrix distanceMatrix =
+                        shortestDistanceFinder.computeDistances(
+                                graph,
+                                nodeList.subList(i, i + 1),
+                                nodeList,
+                                true);
                 
-                if (graph.hasEdge(nodeA, nodeB)) {
-                    workGraph.addEdge(nodeA, 
-                                      nodeB, 
-                                      graph.getEdgeWeight(nodeA, 
-                                                          nodeB));
-                } else {
-                    final List<Integer> shortestPath = 
-                            shortestPathFinder.findShortestPath(graph,
-                                                                nodeA, 
-                                                                nodeB);
-                    if (shortestPath.isEmpty()) {
-                        throw new IllegalArgumentException(
-                                "The input graph is not connected.");
+                System.arraycopy(distanceMatrix.getDistances(),
+                                 0,
+                                 weights,
+                                 i * n,
+                                 n);
+                
+                // Keep only the part of the shortest path tree of the 'i'th
+                // node that lies on the paths of its missing arcs.
+                positionMap.clear();
+                treeNodeList.clear();
+                treeParentList.clear();
+                positionMap.put(nodeIds[i], 0);
+                treeNodeList.add(nodeIds[i]);
+                treeParentList.add(-1);
+                
+                for (int j = 0; j < n; ++j) {
+                    targetPositions[i * n + j] = -1;
+                    
+                    if (i == j || graph.hasEdge(nodeIds[i], nodeIds[j])) {
+                        continue;
+                    }
+                    
+                    final List<Integer> path = distanceMatrix.getPath(0, j);
+                    int parentPosition = 0;
+                    
+                    for (int k = 1; k < path.size(); ++k) {
+                        Integer position = positionMap.get(path.get(k));
+                        
+                        if (position == null) {
+                            position = treeNodeList.size();
+                            positionMap.put(path.get(k), position);
+                            treeNodeList.add(path.get(k));
+                            treeParentList.add(parentPosition);
+                        }
+                        
+                        parentPosition = position;
                     }
                     
-                    workGraph.addEdge(nodeA, 
-                                      nodeB, 
-                                      getPathCost(graph, shortestPath));
+                    targetPositions[i * n + j] = parentPosition;
                 }
+                
+                treeNodeIds[i] = toArray(treeNodeList);
+                treeParents[i] = toArray(treeParentList);
+            }
+        });
+        
+        return new TSPGraphCompletion(toCompleteGraph(graph, nodeIds, weights),
+                                      treeNodeIds,
+                                      treeParents,
+                                      targetPositions);
+    }
+    
+    private DenseDirectedGraph completeBySingleSource(
+            final DirectedGraph graph) {
+        final IndexedDirectedGraph indexedGraph =
+                new IndexedDirectedGraph(graph);
+        final int n = indexedGraph.size();
+        final double[] weights = new double[n * n];
+        
+        forEachRowBlock(n, (fromRow, toRow) -> {
+            final double[] distances = new double[n];
+            final IntPriorityQueue OPEN = new IntDaryHeap(n);
+            
+            for (int source = fromRow; source < toRow; ++source) {
+                computeDistances(indexedGraph, source, distances, OPEN);
+                System.arraycopy(distances, 0, weights, source * n, n);
             }
+        });
+        
+        return toCompleteGraph(indexedGraph, weights);
+    }
+    
+    private static void computeDistances(
+            final IndexedDirectedGraph indexedGraph,
+            final int source,
+            final double[] distances,
+            final IntPriorityQueue OPEN) {
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0.0;
+        OPEN.add(source, 0.0);
+        
+        while (!OPEN.isEmpty()) {
+            final int current = OPEN.extractMinimum();
+            final int end = indexedGraph.getChildrenEnd(current);
+            
+            for (int arc = indexedGraph.getChildrenBegin(current);
+                    arc < end;
+                    ++arc) {
+                final int child = indexedGraph.getChild(arc);
+                final double tentativeDistance =
+                        distances[current] +
+                        indexedGraph.getChildArcWeight(arc);
+                
+                if (distances[child] > tentativeDistance) {
+                    distances[child] = tentativeDistance;
+                    OPEN.add(child, tentativeDistance);
+                }
+            }
+        }
+    }
+    
+    private DenseDirectedGraph completeByFloydWarshall(
+            final DirectedGraph graph) {
+        final IndexedDirectedGraph indexedGraph =
+                new IndexedDirectedGraph(graph);
+        final int n = indexedGraph.size();
+        final double[] weights = new double[n * n];
+        
+        Arrays.fill(weights, Double.POSITIVE_INFINITY);
+        
+        for (int u = 0; u < n; ++u) {
+            weights[u * n + u] = 0.0;
+            
+            for (int arc = indexedGraph.getChildrenBegin(u);
+                    arc < indexedGraph.getChildrenEnd(u);
+                    ++arc) {
+                final int v = indexedGraph.getChild(arc);
+                final double weight = indexedGraph.getChildArcWeight(arc);
+                weights[u * n + v] = Math.min(weights[u * n + v], weight);
+            }
+        }
+        
+        for (int k = 0; k < n; ++k) {
+            final int columnK = k;
+            final int rowK = k * n;
+            
+            // Row 'k' does not change during the iteration 'k', so that the 
+            // other rows may be relaxed independently.
+            forEachRowBlock(n, (fromRow, toRow) -> {
+                for (int i = fromRow; i < toRow; ++i) {
+                    final int rowI = i * n;
+                    final double distanceIK = weights[rowI + columnK];
+                    
+                    if (distanceIK == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    
+                    for (int j = 0; j < n; ++j) {
+                        final double tentativeDistance = distanceIK +
+                                                         weights[rowK + j];
+                        
+                        if (weights[rowI + j] > tentativeDistance) {
+                            weights[rowI + j] = tentativeDistance;
+                        }
+                    }
+                }
+            });
+        }
+        
+        return toCompleteGraph(indexedGraph, weights);
+    }
+    
+    /**
+     * Builds the complete graph out of the all-pairs distance matrix. Just as
+     * in the pairwise mode, the arcs present in the input graph keep their
+     * weights, and the self-loops are omitted.
+     *
+     * @param indexedGraph the input graph.
+     * @param weights      the all-pairs distance matrix; overwritten.
+     * @return the complete graph.
+     */
+    private static DenseDirectedGraph toCompleteGraph(
+            final IndexedDirectedGraph indexedGraph,
+            final double[] weights) {
+        final int n = indexedGraph.size();
+        final int[] nodeIds = new int[n];
+        
+        for (int u = 0; u < n; ++u) {
+            nodeIds[u] = indexedGraph.getNodeId(u);
+            
+            for (int v = 0; v < n; ++v) {
+                if (u != v && weights[u * n + v] == Double.POSITIVE_INFINITY) {
+                    throw new IllegalArgumentException(
+                            "The input graph is not connected.");
+                }
+            }
+            
+            for (int arc = indexedGraph.getChildrenBegin(u);
+                    arc < indexedGraph.getChildrenEnd(u);
+                    ++arc) {
+                weights[u * n + indexedGraph.getChild(arc)] =
+                        indexedGraph.getChildArcWeight(arc);
+            }
+            
+            weights[u * n + u] = Double.POSITIVE_INFINITY;
+        }
+        
+        return new DenseDirectedGraph(nodeIds, weights);
+    }
+    
+    /**
+     * Builds the complete graph over the nodes {@code nodeIds} out of their
+     * distance matrix, just as 
+     * {@link #toCompleteGraph(IndexedDirectedGraph, double[])} does.
+     *
+     * @param graph   the input graph.
+     * @param nodeIds the nodes of the complete graph.
+     * @param weights the distance matrix; overwritten.
+     * @return the complete graph.
+     */
+    static DenseDirectedGraph toCompleteGraph(
+            final DirectedGraph graph,
+            final int[] nodeIds,
+            final double[] weights) {
+        final int n = nodeIds.length;
+        final Map<Integer, Integer> nodeIndexMap = new HashMap<>(2 * n);
+        
+        for (int i = 0; i < n; ++i) {
+            nodeIndexMap.put(nodeIds[i], i);
+        }
+        
+        for (int i = 0; i < n; ++i) {
+            for (final Integer child : graph.getChildrenOf(nodeIds[i])) {
+                final Integer j = nodeIndexMap.get(child);
+                
+                if (j != null) {
+                    weights[i * n + j] = graph.getEdgeWeight(nodeIds[i], 
+                                                             child);
+                }
+            }
+            
+            for (int j = 0; j < n; ++j) {
+                if (i != j && weights[i * n + j] == Double.POSITIVE_INFINITY) {
+                    throw new IllegalArgumentException(
+                            "The input graph is not connected.");
+                }
+            }
+            
+            weights[i * n + i] = Double.POSITIVE_INFINITY;
+        }
+        
+        return new DenseDirectedGraph(nodeIds, weights);
+    }
+    
+    /**
+     * Runs {@code task} over the rows {@code 0, ..., n - 1}. In the parallel
+     * mode the rows are split into blocks that are run on the executor, and 
+     * this method returns when all of them are done.
+     * 
+     * @param n    the number of rows.
+     * @param task the task to run.
+     */
+    private void forEachRowBlock(final int n, final RowBlockTask task) {
+        if (executor == null || n < 2) {
+            task.computeRows(0, n);
+            return;
+        }
+        
+        final int numberOfBlocks = 
+                Math.min(n, parallelism * ROW_BLOCKS_PER_THREAD);
+        final List<Callable<Void>> blockList = new ArrayList<>(numberOfBlocks);
+        
+        for (int block = 0; block < numberOfBlocks; ++block) {
+            final int fromRow = (int)((long) n * block / numberOfBlocks);
+            final int toRow = (int)((long) n * (block + 1) / numberOfBlocks);
+            
+            blockList.add(() -> {
+                task.computeRows(fromRow, toRow);
+                return null;
+            });
+        }
+        
+        try {
+            for (final Future<Void> future : executor.invokeAll(blockList)) {
+                future.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while preprocessing the graph.", ex);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+    
+    private static int[] getNodeIds(final DirectedGraph graph) {
+        final int[] nodeIds = new int[graph.size()];
+        int index = 0;
+        
+        for (final Integer node : graph.getAllNodes()) {
+            nodeIds[index++] = node;
+        }
+        
+        return nodeIds;
+    }
+    
+    private static int[] getTerminalIds(final DirectedGraph graph,
+                                        final List<Integer> terminals) {
+        Objects.requireNonNull(terminals, "The terminal list is null.");
+        final int[] terminalIds = new int[terminals.size()];
+        
+        for (int i = 0; i < terminalIds.length; ++i) {
+            final Integer terminal = terminals.get(i);
+            Objects.requireNonNull(terminal, "A terminal node is null.");
+            
+            if (!graph.hasNode(terminal)) {
+                throw new IllegalArgumentException(
+                        "A terminal node does not appear in the input graph.");
+            }
+            
+            terminalIds[i] = terminal;
+        }
+        
+        return terminalIds;
+    }
+    
+    private static List<Integer> toList(final int[] array) {
+        final List<Integer> list = new ArrayList<>(array.length);
+        
+        for (final int element : array) {
+            list.add(element);
+        }
+        
+        return list;
+    }
+    
+    private static int[] toArray(final List<Integer> list) {
+        final int[] array = new int[list.size()];
+        
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = list.get(i);
         }
         
-        return workGraph;
+        return array;
     }
     
     private double getPathCost(final DirectedGraph graph,
@@ -0,0 +1,265 @@
+package net.coderodde.graph.tsp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class implements a bounded cache of solved tours keyed by the
+ * fingerprints of the graphs (see {@link GraphFingerprint}) and by the keys of
+ * the solvers. A solver key identifies the solver, together with its
+ * configuration, that produced a tour, so that the solvers sharing a cache
+ * never receive each other's tours: for example, a heuristic tour is never
+ * returned to an exact solver. Each tour is cached with its cost. The cache is
+ * bounded by the approximate number of bytes taken by the fingerprints and the
+ * tours; once a new tour pushes the cache over the bound, the least recently
+ * used tours are evicted. A tour taking more bytes than the bound is not
+ * cached at all.
+ * <p>
+ * The cache counts the hits, the misses and the evictions. This class is
+ * thread-safe, so that a single cache may be shared by solvers running in
+ * different threads.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ * @see CachingAsymmetricTSPSolver
+ */
+public final class TourCache {
+    
+    /**
+     * The default bound on the size of a cache in bytes.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE_IN_BYTES = 64L << 20;
+    
+    /**
+     * The approximate number of bytes taken by each node of a cached tour.
+     */
+    private static final long BYTES_PER_TOUR_NODE = 20L;
+    
+    /**
+     * The approximate number of bytes taken by an entry apart from the
+     * fingerprint, the solver key and the tour.
+     */
+    private static final long BYTES_PER_ENTRY = 64L;
+    
+    private final long maximumSizeInBytes;
+    private final LinkedHashMap<Key, CachedTour> map =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+    private long numberOfHits;
+    private long numberOfMisses;
+    private long numberOfEvictions;
+    
+    /**
+     * Constructs a cache with the default bound on its size.
+     */
+    public TourCache() {
+        this(DEFAULT_MAXIMUM_SIZE_IN_BYTES);
+    }
+    
+    /**
+     * Constructs a cache.
+     * 
+     * @param maximumSizeInBytes the bound on the size of the cache in bytes.
+     */
+    public TourCache(final long maximumSizeInBytes) {
+        if (maximumSizeInBytes < 0L) {
+            throw new IllegalArgumentException(
+                    "The maximum cache size is negative: " + 
+                    maximumSizeInBytes + ".");
+        }
+        
+        this.maximumSizeInBytes = maximumSizeInBytes;
+    }
+    
+    /**
+     * Returns the tour cached by the solver with the key {@code solverKey} for
+     * the graph with the fingerprint {@code fingerprint}, and marks the tour
+     * as the most recently used.
+     * 
+     * @param solverKey   the key of the solver.
+     * @param fingerprint the fingerprint of the graph.
+     * @return a copy of the cached tour or {@code null} if there is none.
+     */
+    public List<Integer> get(final String solverKey,
+                             final GraphFingerprint fingerprint) {
+        final CachedTour cachedTour = getCachedTour(solverKey, fingerprint);
+        return cachedTour == null ? null : new ArrayList<>(cachedTour.tour);
+    }
+    
+    /**
+     * Caches the tour {@code tour} of the cost {@code tourCost}, found by the
+     * solver with the key {@code solverKey} for the graph with the fingerprint
+     * {@code fingerprint}, evicting the least recently used tours if the cache
+     * grows too large.
+     * 
+     * @param solverKey   the key of the solver.
+     * @param fingerprint the fingerprint of the graph.
+     * @param tour        the tour of the graph.
+     * @param tourCost    the cost of the tour.
+     */
+    public synchronized void put(final String solverKey,
+                                 final GraphFingerprint fingerprint,
+                                 final List<Integer> tour,
+                                 final double tourCost) {
+        final Key key = new Key(solverKey, fingerprint);
+        Objects.requireNonNull(tour, "The tour is null.");
+        final CachedTour cachedTour =
+                new CachedTour(
+                        Collections.unmodifiableList(new ArrayList<>(tour)),
+                        tourCost);
+        final long entrySizeInBytes = getSizeInBytes(key, cachedTour);
+        
+        if (entrySizeInBytes > maximumSizeInBytes) {
+            return;
+        }
+        
+        final CachedTour oldCachedTour = map.put(key, cachedTour);
+        
+        if (oldCachedTour != null) {
+            sizeInBytes -= getSizeInBytes(key, oldCachedTour);
+        }
+        
+        sizeInBytes += entrySizeInBytes;
+        final Iterator<Map.Entry<Key, CachedTour>> iterator =
+                map.entrySet().iterator();
+        
+        while (sizeInBytes > maximumSizeInBytes) {
+            // The iteration order is from the least recently used entry.
+            final Map.Entry<Key, CachedTour> entry = iterator.next();
+            sizeInBytes -= getSizeInBytes(entry.getKey(), entry.getValue());
+            iterator.remove();
+            numberOfEvictions++;
+        }
+    }
+    
+    /**
+     * Returns the tour and its cost cached by the solver with the key
+     * {@code solverKey} for the graph with the fingerprint
+     * {@code fingerprint}, and marks the tour as the most recently used.
+     * 
+     * @param solverKey   the key of the solver.
+     * @param fingerprint the fingerprint of the graph.
+     * @return the cached tour or {@code null} if there is none.
+     */
+    synchronized CachedTour getCachedTour(final String solverKey,
+                                          final GraphFingerprint fingerprint) {
+        final CachedTour cachedTour =
+                map.get(new Key(solverKey, fingerprint));
+        
+        if (cachedTour == null) {
+            numberOfMisses++;
+            return null;
+        }
+        
+        numberOfHits++;
+        return cachedTour;
+    }
+    
+    /**
+     * Removes all the tours from this cache. The statistics are kept.
+     */
+    public synchronized void clear() {
+        map.clear();
+        sizeInBytes = 0L;
+    }
+    
+    /**
+     * Returns the number of cached tours.
+     * 
+     * @return the number of tours.
+     */
+    public synchronized int size() {
+        return map.size();
+    }
+    
+    /**
+     * Returns the approximate number of bytes taken by the cached tours and
+     * their fingerprints.
+     * 
+     * @return the size in bytes.
+     */
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+    
+    public long getMaximumSizeInBytes() {
+        return maximumSizeInBytes;
+    }
+    
+    public synchronized long getNumberOfHits() {
+        return numberOfHits;
+    }
+    
+    public synchronized long getNumberOfMisses() {
+        return numberOfMisses;
+    }
+    
+    public synchronized long getNumberOfEvictions() {
+        return numberOfEvictions;
+    }
+    
+    private static long getSizeInBytes(final Key key,
+                                       final CachedTour cachedTour) {
+        return BYTES_PER_ENTRY +
+               2L * key.solverKey.length() +
+               key.fingerprint.getSizeInBytes() +
+               BYTES_PER_TOUR_NODE * cachedTour.tour.size();
+    }
+    
+    /**
+     * A cached tour together with its cost.
+     */
+    static final class CachedTour {
+        
+        final List<Integer> tour;
+        final double tourCost;
+        
+        CachedTour(final List<Integer> tour, final double tourCost) {
+            this.tour = tour;
+            this.tourCost = tourCost;
+        }
+    }
+    
+    /**
+     * The key of a cached tour: the solver key and the graph fingerprint.
+     */
+    private static final class Key {
+        
+        final String solverKey;
+        final GraphFingerprint fingerprint;
+        
+        Key(final String solverKey, final GraphFingerprint fingerprint) {
+            this.solverKey =
+                    Objects.requireNonNull(solverKey,
+                                           "The solver key is null.");
+            this.fingerprint =
+                    Objects.requireNonNull(fingerprint,
+                                           "The fingerprint is null.");
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * solverKey.hashCode() + fingerprint.hashCode();
+        }
+        
+        @Override
+        public boolean equals(final Object o) {
+            if (o == this) {
+                return true;
+            }
+            
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            
+            final Key other = (Key) o;
+            return solverKey.equals(other.solverKey) &&
+                   fingerprint.equals(other.fingerprint);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package net.coderodde.graph.tsp;
+
+import java.util.List;
+
+/**
+ * This interface defines the API for receiving the tours a solver finds while
+ * it runs. The listener is called in a thread running the solver, each time
+ * the solver finds a tour cheaper than all the previous ones, so that the
+ * costs passed to a listener strictly decrease during a search. A solver
+ * running on several threads never calls the listener concurrently.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ * @see AsymmetricTSPSolver#solve(DirectedGraph, long, CancellationToken,
+ *                                TourListener)
+ */
+public interface TourListener {
+    
+    /**
+     * Receives a new best tour.
+     * 
+     * @param tour the node IDs of the tour.
+     * @param cost the cost of the tour.
+     */
+    public void onTourImproved(final List<Integer> tour, final double cost);
+}
@@ -1,12 +1,13 @@
 package net.coderodde.graph.tsp.support;
 
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
+import net.coderodde.graph.DenseDirectedGraph;
 import net.coderodde.graph.DirectedGraph;
 import net.coderodde.graph.tsp.AsymmetricTSPSolver;
+import net.coderodde.graph.tsp.CancellationToken;
+import net.coderodde.graph.tsp.LowerBounds;
+import net.coderodde.graph.tsp.TourListener;
 
 /**
  * This class implements a default asymmetric traveling salesman problem solver.
@@ -14,99 +15,317 @@ import net.coderodde.graph.tsp.AsymmetricTSPSolver;
  * the missing arcs in the graph. Since the graph becomes fully connected, it
  * proceeds to computing the shortest tour over the graph.
  * <p>
+ * By default, the search is a branch-and-bound: the best tour is seeded with
+ * a nearest neighbor tour, and each partial tour whose cost plus a lower bound
+ * on the cost of completing it is no better than the best known tour is
+ * abandoned. The lower bound is the sum of the cheapest outgoing arc weights of
+ * the last node in the partial tour and all the unvisited nodes, since each of
+ * them must be left exactly once. Moreover, the assignment bound on the cost
+ * of the whole tour (see {@link LowerBounds}) is computed at the root of the
+ * search, and the search stops as soon as the best known tour meets it, since
+ * no tour can be cheaper. The exhaustive search is available via
+ * {@link #DefaultAsymmetricTSPSolver(boolean)}.
+ * <p>
+ * Since all the rotations of a tour have the same cost, the first node of the
+ * tour is fixed by default, so that only <tt>(n - 1)!</tt> orderings of the
+ * remaining nodes are considered.
+ * <p>
+ * The anytime variant of {@code solve} reports the initial nearest neighbor
+ * tour and each cheaper tour found afterwards. When the time limit runs out or
+ * the search is cancelled, it returns the best tour found so far.
+ * <p>
  * Note that this class maintains state, so that if you need to run the
  * algorithm in parallel, make sure that each thread constructs its own instance
  * of this class.
- * 
+ *
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Jul 20, 2018)
  */
 public final class DefaultAsymmetricTSPSolver extends AsymmetricTSPSolver {
 
-    private DirectedGraph graph;
+    private final boolean useBranchAndBound;
+    private final boolean fixFirstNode;
+    private DenseDirectedGraph graph;
     private double bestTourLength;
     private double tentativeTourCost;
-    private final List<Integer> bestTour      = new ArrayList<>();
-    private final Set<Integer> visitedNodeSet = new HashSet<>();
-    private final List<Integer> tentativeTour = new ArrayList<>();
+    private double unvisitedLowerBound;
+    private int tentativeTourSize;
+    private int[] bestTour;
+    private int[] tentativeTour;
+    private boolean[] visited;
+    private double[] minimumOutgoingArcWeights;
+    private double rootLowerBound;
+    
+    /**
+     * The limits of the anytime search or {@code null} if the search runs to 
+     * completion.
+     */
+    private SearchLimit searchLimit;
+    private boolean stopped;
+    private int numberOfExpansions;
+    
+    /**
+     * Constructs a solver that uses branch-and-bound and fixes the first node.
+     */
+    public DefaultAsymmetricTSPSolver() {
+        this(true);
+    }
+    
+    /**
+     * Constructs a solver that fixes the first node.
+     *
+     * @param useBranchAndBound if {@code true}, prunes the partial tours that
+     *                          cannot lead to a better tour; otherwise,
+     *                          enumerates all the tours.
+     */
+    public DefaultAsymmetricTSPSolver(final boolean useBranchAndBound) {
+        this(useBranchAndBound, true);
+    }
+    
+    /**
+     * Constructs a solver.
+     *
+     * @param useBranchAndBound if {@code true}, prunes the partial tours that
+     *                          cannot lead to a better tour; otherwise,
+     *                          enumerates all the tours.
+     * @param fixFirstNode      if {@code true}, considers only the tours 
+     *                          starting from the first node of the graph.
+     */
+    public DefaultAsymmetricTSPSolver(final boolean useBranchAndBound,
+                                      final boolean fixFirstNode) {
+        this.useBranchAndBound = useBranchAndBound;
+        this.fixFirstNode = fixFirstNode;
+    }
     
     @Override
     public List<Integer> solve(final DirectedGraph graph) {
         Objects.requireNonNull(graph, "The input graph is null.");
+        return solve(new DenseDirectedGraph(graph));
+    }
+    
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
         
         if (graph.size() == 0) {
             throw new IllegalArgumentException("The input graph is empty.");
         }
         
+        searchLimit = null;
         return findShortestTour(graph);
     }
     
-    private List<Integer> findShortestTour(final DirectedGraph graph) {
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph,
+                               final long timeLimitMillis,
+                               final CancellationToken cancellationToken,
+                               final TourListener listener) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        checkTimeLimit(timeLimitMillis);
+        
+        if (graph.size() == 0) {
+            throw new IllegalArgumentException("The input graph is empty.");
+        }
+        
+        searchLimit = new SearchLimit(graph,
+                                      SearchLimit.toNanos(timeLimitMillis),
+                                      cancellationToken,
+                                      listener);
+        
+        try {
+            return findShortestTour(graph);
+        } finally {
+            searchLimit = null;
+        }
+    }
+    
+    private List<Integer> findShortestTour(final DenseDirectedGraph graph) {
         init(graph);
-        findShortestTour();
-        return new ArrayList<>(bestTour);
+        
+        if (!isBestTourOptimal()) {
+            findShortestTour();
+        }
+        
+        return graph.toNodeIdList(bestTour);
     }
     
-    private void init(final DirectedGraph graph) {
+    private void init(final DenseDirectedGraph graph) {
+        final int n = graph.size();
         this.graph = graph;
-        bestTour.clear();
-        tentativeTour.clear();
-        visitedNodeSet.clear();
+        
+        if (tentativeTour == null || tentativeTour.length != n) {
+            bestTour = new int[n];
+            tentativeTour = new int[n];
+            visited = new boolean[n];
+        }
+        
+        tentativeTourSize = 0;
         bestTourLength = Double.POSITIVE_INFINITY;
         tentativeTourCost = 0.0;
+        unvisitedLowerBound = 0.0;
+        stopped = false;
+        numberOfExpansions = 0;
+        
+        if (useBranchAndBound) {
+            loadLowerBounds();
+        } else {
+            rootLowerBound = Double.NEGATIVE_INFINITY;
+        }
+        
+        // An anytime search needs a tour to return even if it is stopped 
+        // right away.
+        if (useBranchAndBound || searchLimit != null) {
+            loadNearestNeighborTour();
+        } else {
+            // Start from the identity tour, so that a tour is returned even
+            // if no tour has a finite cost.
+            for (int i = 0; i < n; ++i) {
+                bestTour[i] = i;
+            }
+            
+            bestTourLength = getTourCost(graph, bestTour);
+        }
+    }
+    
+    private void loadLowerBounds() {
+        minimumOutgoingArcWeights = 
+                TourUtils.computeMinimumOutgoingArcWeights(graph);
+        
+        for (final double minimumWeight : minimumOutgoingArcWeights) {
+            unvisitedLowerBound += minimumWeight;
+        }
+        
+        rootLowerBound = LowerBounds.computeAssignmentBound(graph);
+    }
+    
+    /**
+     * Seeds the best tour with the cheapest of the nearest neighbor tours
+     * starting from each node.
+     */
+    private void loadNearestNeighborTour() {
+        bestTour = TourUtils.buildNearestNeighborTour(graph);
+        bestTourLength = getTourCost(graph, bestTour);
+        
+        if (searchLimit != null) {
+            searchLimit.reportTour(bestTour, bestTourLength);
+        }
     }
     
     private void findShortestTour() {
-        for (final Integer node : graph.getAllNodes()) {
-            if (!visitedNodeSet.contains(node)) {
-                double tmp;
+        final int n = graph.size();
+        // The first node of the tour ranges over all the nodes only if it is
+        // not fixed.
+        final int end = fixFirstNode && tentativeTourSize == 0 ? 1 : n;
+        
+        for (int node = 0; node < end; ++node) {
+            if (stopped) {
+                return;
+            }
+            
+            if (!visited[node]) {
+                checkSearchLimit();
+                // The costs are restored from these copies rather than by
+                // subtracting, since a missing arc would turn them into
+                // 'inf - inf'.
+                final double previousTourCost = tentativeTourCost;
+                final double previousLowerBound = unvisitedLowerBound;
                 
-                if (visitedNodeSet.size() >= 1) {
-                    tmp = graph.getEdgeWeight(lastOf(tentativeTour), node);
-                } else {
-                    tmp = 0.0;
+                if (tentativeTourSize >= 1) {
+                    tentativeTourCost +=
+                            graph.getEdgeWeight(lastOfTentativeTour(), node);
                 }
                 
-                tentativeTourCost += tmp;
-                visitedNodeSet.add(node);
-                tentativeTour.add(node);
+                visited[node] = true;
+                tentativeTour[tentativeTourSize++] = node;
+                
+                final double minimumOutgoingArcWeight = useBranchAndBound ?
+                        minimumOutgoingArcWeights[node] :
+                        0.0;
                 
-                if (visitedNodeSet.size() == graph.size()) {
-                    // Add the cost of the last arc that goes from last visited
-                    // node to the very first visited node.
-                    final double concludingArcWeight = 
-                            graph.getEdgeWeight(lastOf(tentativeTour),
-                                                firstOf(tentativeTour));
-                    
-                    tentativeTourCost += concludingArcWeight;
-                    
-                    if (bestTourLength > tentativeTourCost) {
-                        bestTourLength = tentativeTourCost;
-                        bestTour.clear();
-                        bestTour.addAll(tentativeTour);
+                unvisitedLowerBound -= minimumOutgoingArcWeight;
+                
+                // Prune the partial tours that cannot be completed into a tour
+                // cheaper than the best known tour.
+                if (canImproveBestTour(minimumOutgoingArcWeight)) {
+                    if (tentativeTourSize == n) {
+                        // Add the cost of the last arc that goes from last
+                        // visited node to the very first visited node.
+                        final double tourCost =
+                                tentativeTourCost +
+                                graph.getEdgeWeight(lastOfTentativeTour(),
+                                                    tentativeTour[0]);
+                        
+                        if (bestTourLength > tourCost) {
+                            bestTourLength = tourCost;
+                            System.arraycopy(tentativeTour, 0, bestTour, 0, n);
+                            
+                            if (searchLimit != null) {
+                                searchLimit.reportTour(bestTour, 
+                                                       bestTourLength);
+                            }
+                            
+                            if (isBestTourOptimal()) {
+                                stopped = true;
+                            }
+                        }
+                    } else {
+                        findShortestTour();
                     }
-                    
-                    tentativeTourCost -= concludingArcWeight;
-                } else {
-                    findShortestTour();
                 }
                 
-                visitedNodeSet.remove(node);
-                removeLast(tentativeTour);
-                tentativeTourCost -= tmp;
+                unvisitedLowerBound = previousLowerBound;
+                visited[node] = false;
+                --tentativeTourSize;
+                tentativeTourCost = previousTourCost;
             }
         }
     }
     
-    private static <T> T firstOf(final List<T> list) {
-        return list.get(0);
+    /**
+     * Checks whether the current partial tour may still be completed into a
+     * tour cheaper than the best known tour.
+     *
+     * @param minimumOutgoingArcWeight the weight of the cheapest arc leaving
+     *                                 the last node of the partial tour.
+     * @return {@code false} only if the partial tour may be pruned.
+     */
+    private boolean canImproveBestTour(final double minimumOutgoingArcWeight) {
+        if (!useBranchAndBound) {
+            return true;
+        }
+        
+        return tentativeTourCost
+             + minimumOutgoingArcWeight
+             + unvisitedLowerBound < bestTourLength;
+    }
+    
+    /**
+     * Checks whether the best known tour meets the lower bound computed at the
+     * root of the search. The comparison tolerates the rounding errors of the
+     * bound. No tour is known before the first one of finite cost is found.
+     *
+     * @return {@code true} if no tour is cheaper than the best known tour.
+     */
+    private boolean isBestTourOptimal() {
+        return bestTourLength < Double.POSITIVE_INFINITY
+            && bestTourLength - rootLowerBound <= 
+               1e-9 * Math.max(1.0, Math.abs(bestTourLength));
     }
     
-    private static <T> T lastOf(final List<T> list) {
-        return list.get(list.size() - 1);
+    /**
+     * Stops an anytime search once its limits are exhausted. The limits are
+     * checked only every {@code 1024} expansions, since reading the clock is
+     * far more expensive than an expansion.
+     */
+    private void checkSearchLimit() {
+        if (searchLimit != null
+                && (++numberOfExpansions & 1023) == 0
+                && searchLimit.isExhausted()) {
+            stopped = true;
+        }
     }
     
-    private static <T> void removeLast(final List<T> list) {
-        list.remove(list.size() - 1);
+    private int lastOfTentativeTour() {
+        return tentativeTour[tentativeTourSize - 1];
     }
 }
@@ -0,0 +1,340 @@
+package net.coderodde.graph.tsp.support;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.DenseDirectedGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.tsp.AsymmetricTSPSolver;
+import net.coderodde.graph.tsp.CancellationToken;
+import net.coderodde.graph.tsp.TourListener;
+
+/**
+ * This class implements the Held-Karp dynamic programming algorithm for
+ * solving the asymmetric traveling salesman problem. The algorithm fixes the
+ * first node of the tour and computes, for each subset <tt>S</tt> of the
+ * remaining nodes and each node <tt>v</tt> in <tt>S</tt>, the cost of the
+ * cheapest path that starts at the first node, visits exactly the nodes in
+ * <tt>S</tt> and ends at <tt>v</tt>. This runs in time
+ * <tt>O(n^2 2^n)</tt> and space <tt>O(n 2^n)</tt>, which allows solving much
+ * larger instances than the brute-force solvers.
+ * <p>
+ * The only table is the one of the path costs, {@code 8 (n - 1) 2^(n - 1)}
+ * bytes: about 80 MB for 20 nodes, 740 MB for 23 nodes, 3.2 GB for 25 nodes
+ * and 14 GB for 27 nodes, the most a Java array can index. The tour is traced
+ * back through the costs. A graph whose table does not fit in the free heap
+ * is rejected with an {@link IllegalArgumentException} before any allocation.
+ * Both the memory and the time double with each extra node.
+ * <p>
+ * Just like the brute-force solvers, this solver expects a complete graph
+ * (see {@link net.coderodde.graph.tsp.TSPGraphPreprocessor}). If the graph
+ * has no tour of finite cost, an {@link IllegalArgumentException} is thrown.
+ * <p>
+ * The anytime variant of {@code solve} reports the nearest neighbor tour
+ * before the dynamic programming starts and the optimal tour once it
+ * completes, if cheaper. When the time limit runs out or the search is
+ * cancelled in between, it returns the nearest neighbor tour. It returns that
+ * tour without allocating the table also when the limits are exhausted on
+ * entry, when the table does not fit in the free heap, and when even an
+ * optimistic estimate of the time of filling the table exceeds the remaining
+ * time.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class HeldKarpAsymmetricTSPSolver extends AsymmetricTSPSolver {
+
+    /**
+     * The maximum number of nodes this solver can handle. With more nodes the
+     * dynamic programming table does not fit in a Java array. The free heap
+     * usually limits the number of nodes further (see
+     * {@link #getTableSizeInBytes(int)}).
+     */
+    public static final int MAXIMUM_NUMBER_OF_NODES = 27;
+
+    /**
+     * A lower bound on the time of extending a path by an arc, about a tenth
+     * of the time measured on current hardware. Used to skip the dynamic
+     * programming in the anytime search when it clearly cannot finish.
+     */
+    private static final double MINIMUM_NANOS_PER_EXTENSION = 2.0;
+
+    /**
+     * A lower bound on the time of allocating and initializing a byte of the
+     * table.
+     */
+    private static final double MINIMUM_NANOS_PER_TABLE_BYTE = 0.1;
+
+    @Override
+    public List<Integer> solve(final DirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return solve(new DenseDirectedGraph(graph));
+    }
+
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph) {
+        checkGraph(graph);
+        return solve(graph, null);
+    }
+
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph,
+                               final long timeLimitMillis,
+                               final CancellationToken cancellationToken,
+                               final TourListener listener) {
+        checkGraph(graph);
+        checkTimeLimit(timeLimitMillis);
+        return solve(graph, new SearchLimit(graph,
+                                            SearchLimit.toNanos(
+                                                    timeLimitMillis),
+                                            cancellationToken,
+                                            listener));
+    }
+
+    private static void checkGraph(final DenseDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+
+        if (graph.size() == 0) {
+            throw new IllegalArgumentException("The input graph is empty.");
+        }
+
+        if (graph.size() > MAXIMUM_NUMBER_OF_NODES) {
+            throw new IllegalArgumentException(
+                    "The input graph has too many nodes: " + graph.size() +
+                    ". The maximum is " + MAXIMUM_NUMBER_OF_NODES + ".");
+        }
+    }
+
+    private static void checkTableSize(final DenseDirectedGraph graph) {
+        final long tableSizeInBytes = getTableSizeInBytes(graph.size());
+        final long freeHeapSizeInBytes = getFreeHeapSizeInBytes();
+
+        if (tableSizeInBytes > freeHeapSizeInBytes) {
+            throw new IllegalArgumentException(
+                    "The input graph has too many nodes: " + graph.size() +
+                    ". The dynamic programming table takes " +
+                    tableSizeInBytes + " bytes, while only " +
+                    freeHeapSizeInBytes + " bytes of heap are free.");
+        }
+    }
+
+    /**
+     * Checks whether the dynamic programming may finish within the limits of
+     * an anytime search: the limits are not exhausted, the table fits in the
+     * free heap, and a lower bound on the running time fits in the remaining
+     * time.
+     *
+     * @param n           the number of nodes.
+     * @param searchLimit the limits of the search.
+     * @return {@code false} if the dynamic programming cannot finish.
+     */
+    private static boolean mayFinish(final int n,
+                                     final SearchLimit searchLimit) {
+        if (searchLimit.isExhausted()) {
+            return false;
+        }
+
+        final long tableSizeInBytes = getTableSizeInBytes(n);
+
+        if (tableSizeInBytes > getFreeHeapSizeInBytes()) {
+            return false;
+        }
+
+        // Each of the 2^(m - 2) m (m - 1) pairs of a subset and a node in it
+        // is extended by each node not in the subset.
+        final int m = n - 1;
+        final double numberOfExtensions =
+                m < 2 ? 0.0 : Math.scalb((double) m * (m - 1), m - 2);
+        final double minimumNanos =
+                MINIMUM_NANOS_PER_EXTENSION * numberOfExtensions +
+                MINIMUM_NANOS_PER_TABLE_BYTE * tableSizeInBytes;
+
+        return minimumNanos <= searchLimit.getRemainingNanos();
+    }
+
+    /**
+     * Returns the number of bytes taken by the dynamic programming table of a
+     * graph with {@code numberOfNodes} nodes.
+     *
+     * @param numberOfNodes the number of nodes.
+     * @return the size of the table in bytes.
+     */
+    public static long getTableSizeInBytes(final int numberOfNodes) {
+        if (numberOfNodes < 2) {
+            return 0L;
+        }
+
+        final int m = numberOfNodes - 1;
+        return Double.BYTES * ((long) m << m);
+    }
+
+    private static long getFreeHeapSizeInBytes() {
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.maxMemory() -
+               (runtime.totalMemory() - runtime.freeMemory());
+    }
+
+    /**
+     * Runs the dynamic programming. The limits of an anytime search are
+     * checked every {@code 1024} subsets.
+     *
+     * @param graph       the graph.
+     * @param searchLimit the limits of the search or {@code null}.
+     * @return the optimal tour, or the nearest neighbor tour if the search is
+     *         stopped.
+     */
+    private List<Integer> solve(final DenseDirectedGraph graph,
+                                final SearchLimit searchLimit) {
+        int[] fallbackTour = null;
+        double fallbackTourCost = Double.POSITIVE_INFINITY;
+
+        if (searchLimit != null) {
+            fallbackTour = TourUtils.buildNearestNeighborTour(graph);
+            fallbackTourCost = getTourCost(graph, fallbackTour);
+            searchLimit.reportTour(fallbackTour, fallbackTourCost);
+        }
+
+        if (graph.size() == 1) {
+            return graph.toNodeIdList(new int[]{ 0 });
+        }
+
+        final int n = graph.size();
+
+        if (searchLimit == null) {
+            checkTableSize(graph);
+        } else if (!mayFinish(n, searchLimit)) {
+            return graph.toNodeIdList(fallbackTour);
+        }
+
+        // The first node (index 0) is the start of the tour. The subsets range
+        // over the remaining n - 1 nodes: bit 'i' of a subset stands for the
+        // node at index 'i + 1'.
+        final int m = n - 1;
+        final int numberOfSubsets = 1 << m;
+        final double[] cost = new double[numberOfSubsets * m];
+
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+
+        for (int i = 0; i < m; ++i) {
+            cost[(1 << i) * m + i] = graph.getEdgeWeight(0, i + 1);
+        }
+
+        for (int subset = 1; subset < numberOfSubsets; ++subset) {
+            if (searchLimit != null
+                    && (subset & 1023) == 0
+                    && searchLimit.isExhausted()) {
+                return graph.toNodeIdList(fallbackTour);
+            }
+
+            for (int last = 0; last < m; ++last) {
+                if ((subset & (1 << last)) == 0) {
+                    continue;
+                }
+
+                final double currentCost = cost[subset * m + last];
+
+                if (currentCost == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                for (int next = 0; next < m; ++next) {
+                    if ((subset & (1 << next)) != 0) {
+                        continue;
+                    }
+
+                    final int nextSubset = subset | (1 << next);
+                    final double tentativeCost =
+                            currentCost +
+                            graph.getEdgeWeight(last + 1, next + 1);
+
+                    if (cost[nextSubset * m + next] > tentativeCost) {
+                        cost[nextSubset * m + next] = tentativeCost;
+                    }
+                }
+            }
+        }
+
+        // Close the tour by returning to the first node.
+        final int fullSubset = numberOfSubsets - 1;
+        double bestTourCost = Double.POSITIVE_INFINITY;
+        int bestLast = -1;
+
+        for (int last = 0; last < m; ++last) {
+            final double tentativeCost = cost[fullSubset * m + last] +
+                                         graph.getEdgeWeight(last + 1, 0);
+
+            if (bestTourCost > tentativeCost) {
+                bestTourCost = tentativeCost;
+                bestLast = last;
+            }
+        }
+
+        if (bestLast == -1) {
+            throw new IllegalArgumentException(
+                    "The input graph has no tour of finite cost.");
+        }
+
+        final int[] tour = tracebackTour(graph, cost, fullSubset, bestLast);
+
+        if (searchLimit != null && fallbackTourCost > bestTourCost) {
+            searchLimit.reportTour(tour, bestTourCost);
+        }
+
+        return graph.toNodeIdList(tour);
+    }
+
+    /**
+     * Traces the optimal tour back through the path costs. The predecessor of
+     * the last node of a path is the node minimizing the cost of the shorter
+     * path plus the arc. Since the costs of the shorter paths are final by the
+     * time they are extended, this recomputes exactly the minimum stored in
+     * {@code cost}.
+     *
+     * @param graph  the graph.
+     * @param cost   the path costs.
+     * @param subset the subset of all the nodes but the first one.
+     * @param last   the last node of the optimal tour before the first node.
+     * @return the tour as node indices.
+     */
+    private static int[] tracebackTour(final DenseDirectedGraph graph,
+                                       final double[] cost,
+                                       int subset,
+                                       int last) {
+        final int n = graph.size();
+        final int m = n - 1;
+        final int[] tour = new int[n];
+        int index = n - 1;
+
+        while (true) {
+            tour[index--] = last + 1;
+            subset &= ~(1 << last);
+
+            if (subset == 0) {
+                break;
+            }
+
+            double bestCost = Double.POSITIVE_INFINITY;
+            int previous = -1;
+
+            for (int node = 0; node < m; ++node) {
+                if ((subset & (1 << node)) == 0) {
+                    continue;
+                }
+
+                final double tentativeCost =
+                        cost[subset * m + node] +
+                        graph.getEdgeWeight(node + 1, last + 1);
+
+                if (previous == -1 || bestCost > tentativeCost) {
+                    bestCost = tentativeCost;
+                    previous = node;
+                }
+            }
+
+            last = previous;
+        }
+
+        // tour[0] is the first node, which has index 0.
+        return tour;
+    }
+}
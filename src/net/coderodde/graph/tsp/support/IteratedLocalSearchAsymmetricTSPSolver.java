@@ -0,0 +1,268 @@
+package net.coderodde.graph.tsp.support;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import net.coderodde.graph.DenseDirectedGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.tsp.AsymmetricTSPSolver;
+import net.coderodde.graph.tsp.CancellationToken;
+import net.coderodde.graph.tsp.TourListener;
+
+/**
+ * This class implements an iterated local search for large asymmetric
+ * traveling salesman problem instances, in the spirit of the iterated
+ * Lin-Kernighan heuristic. The solver builds a nearest neighbor tour and
+ * brings it to a local optimum with the moves of
+ * {@link LocalSearchAsymmetricTSPSolver}: Or-opt moves and chains of segment
+ * exchanges. Then it repeatedly perturbs the tour by a random double-bridge
+ * kick and reoptimizes it, keeping the new tour if it is no more expensive
+ * than the best one and returning to the best tour otherwise.
+ * <p>
+ * The search is confined by candidate sets: each node has a neighbor list of
+ * the nodes with the cheapest arcs leaving it and another of the nodes with
+ * the cheapest arcs entering it, and only the moves adding an arc from the
+ * lists are tried. After a kick, only the endpoints of the changed arcs are
+ * examined (the don't-look bits of the other nodes stay set), so that an
+ * iteration costs roughly as much as the kick changes the tour, not as much
+ * as there are nodes.
+ * <p>
+ * The search stops when either the time limit or the number of iterations
+ * runs out. Unless given explicitly, both grow linearly with the number of
+ * nodes, since a kick only changes the tour locally, so that a larger tour
+ * needs proportionally more kicks to be improved everywhere. For a fixed
+ * number of iterations, the search is deterministic, since the kicks are
+ * drawn from a generator seeded by the given seed. The
+ * anytime variant of {@code solve} also stops at its own time limit or when
+ * cancelled, and reports the tour after the first local search and each new 
+ * best tour afterwards.
+ * <p>
+ * Just like the other solvers, this solver expects a complete graph (see
+ * {@link net.coderodde.graph.tsp.TSPGraphPreprocessor}).
+ * <p>
+ * Note that this class maintains state, so that if you need to run the
+ * algorithm in parallel, make sure that each thread constructs its own instance
+ * of this class.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class IteratedLocalSearchAsymmetricTSPSolver
+extends AsymmetricTSPSolver {
+    
+    /**
+     * The minimum default time limit in milliseconds.
+     */
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 1000L;
+    
+    /**
+     * The default time limit in milliseconds per node.
+     */
+    public static final long DEFAULT_TIME_LIMIT_MILLIS_PER_NODE = 5L;
+    
+    /**
+     * The minimum default maximum number of kicks.
+     */
+    public static final int DEFAULT_NUMBER_OF_ITERATIONS = 10_000;
+    
+    /**
+     * The default maximum number of kicks per node.
+     */
+    public static final int DEFAULT_NUMBER_OF_ITERATIONS_PER_NODE = 100;
+    
+    /**
+     * The default seed of the random number generator.
+     */
+    public static final long DEFAULT_SEED = 1L;
+    
+    private final long timeLimitNanos;
+    private final int maximumNumberOfIterations;
+    private final boolean defaultBudget;
+    private final long seed;
+    private final LocalSearch localSearch;
+    private int numberOfIterations;
+    
+    /**
+     * Constructs a solver with the default budget: the time limit of
+     * {@link #DEFAULT_TIME_LIMIT_MILLIS_PER_NODE} milliseconds and
+     * {@link #DEFAULT_NUMBER_OF_ITERATIONS_PER_NODE} kicks per node, but no
+     * less than {@link #DEFAULT_TIME_LIMIT_MILLIS} milliseconds and
+     * {@link #DEFAULT_NUMBER_OF_ITERATIONS} kicks.
+     */
+    public IteratedLocalSearchAsymmetricTSPSolver() {
+        this(DEFAULT_TIME_LIMIT_MILLIS,
+             DEFAULT_NUMBER_OF_ITERATIONS,
+             LocalSearchAsymmetricTSPSolver.DEFAULT_NUMBER_OF_NEIGHBORS,
+             DEFAULT_SEED,
+             true);
+    }
+    
+    /**
+     * Constructs a solver with the default neighbor list length and seed.
+     *
+     * @param timeLimitMillis    the time limit in milliseconds.
+     * @param numberOfIterations the maximum number of kicks.
+     */
+    public IteratedLocalSearchAsymmetricTSPSolver(
+            final long timeLimitMillis,
+            final int numberOfIterations) {
+        this(timeLimitMillis,
+             numberOfIterations,
+             LocalSearchAsymmetricTSPSolver.DEFAULT_NUMBER_OF_NEIGHBORS,
+             DEFAULT_SEED);
+    }
+    
+    /**
+     * Constructs a solver.
+     *
+     * @param timeLimitMillis    the time limit in milliseconds.
+     * @param numberOfIterations the maximum number of kicks.
+     * @param numberOfNeighbors  the length of the neighbor lists.
+     * @param seed               the seed of the random number generator.
+     */
+    public IteratedLocalSearchAsymmetricTSPSolver(
+            final long timeLimitMillis,
+            final int numberOfIterations,
+            final int numberOfNeighbors,
+            final long seed) {
+        this(timeLimitMillis,
+             numberOfIterations,
+             numberOfNeighbors,
+             seed,
+             false);
+    }
+    
+    private IteratedLocalSearchAsymmetricTSPSolver(
+            final long timeLimitMillis,
+            final int numberOfIterations,
+            final int numberOfNeighbors,
+            final long seed,
+            final boolean defaultBudget) {
+        checkTimeLimit(timeLimitMillis);
+        
+        if (numberOfIterations < 0) {
+            throw new IllegalArgumentException(
+                    "The number of iterations is negative: " +
+                    numberOfIterations + ".");
+        }
+        
+        if (numberOfNeighbors < 1) {
+            throw new IllegalArgumentException(
+                    "The number of neighbors must be positive, received " +
+                    numberOfNeighbors + ".");
+        }
+        
+        this.timeLimitNanos = SearchLimit.toNanos(timeLimitMillis);
+        this.maximumNumberOfIterations = numberOfIterations;
+        this.defaultBudget = defaultBudget;
+        this.seed = seed;
+        this.localSearch = new LocalSearch(numberOfNeighbors);
+    }
+    
+    @Override
+    public List<Integer> solve(final DirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return solve(new DenseDirectedGraph(graph));
+    }
+    
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        
+        if (graph.size() == 0) {
+            throw new IllegalArgumentException("The input graph is empty.");
+        }
+        
+        return solve(graph,
+                     new SearchLimit(graph,
+                                     getTimeLimitNanos(graph.size()),
+                                     null,
+                                     null));
+    }
+    
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph,
+                               final long timeLimitMillis,
+                               final CancellationToken cancellationToken,
+                               final TourListener listener) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        checkTimeLimit(timeLimitMillis);
+        
+        if (graph.size() == 0) {
+            throw new IllegalArgumentException("The input graph is empty.");
+        }
+        
+        return solve(graph, 
+                     new SearchLimit(graph,
+                                     Math.min(getTimeLimitNanos(graph.size()),
+                                              SearchLimit.toNanos(
+                                                      timeLimitMillis)),
+                                     cancellationToken,
+                                     listener));
+    }
+    
+    /**
+     * Returns the number of kicks made by the last search.
+     *
+     * @return the number of iterations.
+     */
+    public int getNumberOfIterations() {
+        return numberOfIterations;
+    }
+    
+    private long getTimeLimitNanos(final int numberOfNodes) {
+        if (!defaultBudget) {
+            return timeLimitNanos;
+        }
+        
+        return Math.max(timeLimitNanos,
+                        SearchLimit.toNanos(
+                                DEFAULT_TIME_LIMIT_MILLIS_PER_NODE
+                                        * numberOfNodes));
+    }
+    
+    private int getMaximumNumberOfIterations(final int numberOfNodes) {
+        if (!defaultBudget) {
+            return maximumNumberOfIterations;
+        }
+        
+        final long scaledNumberOfIterations =
+                (long) DEFAULT_NUMBER_OF_ITERATIONS_PER_NODE * numberOfNodes;
+        
+        return (int) Math.min(Integer.MAX_VALUE,
+                              Math.max(maximumNumberOfIterations,
+                                       scaledNumberOfIterations));
+    }
+    
+    private List<Integer> solve(final DenseDirectedGraph graph,
+                                final SearchLimit searchLimit) {
+        final int iterationLimit = getMaximumNumberOfIterations(graph.size());
+        final Random random = new Random(seed);
+        localSearch.load(graph, TourUtils.buildNearestNeighborTour(graph, 0));
+        localSearch.optimize(searchLimit);
+        
+        final int[] bestTour = localSearch.getTour();
+        double bestTourCost = localSearch.getTourCost();
+        numberOfIterations = 0;
+        searchLimit.reportTour(bestTour, bestTourCost);
+        
+        while (numberOfIterations < iterationLimit
+                && graph.size() > 3
+                && !searchLimit.isExhausted()) {
+            numberOfIterations++;
+            localSearch.kick(random);
+            localSearch.optimize(searchLimit);
+            final double tourCost = localSearch.getTourCost();
+            
+            if (tourCost < bestTourCost) {
+                bestTourCost = tourCost;
+                localSearch.copyTour(bestTour);
+                searchLimit.reportTour(bestTour, bestTourCost);
+            } else if (tourCost > bestTourCost) {
+                localSearch.restore(bestTour, bestTourCost);
+            }
+        }
+        
+        return graph.toNodeIdList(bestTour);
+    }
+}
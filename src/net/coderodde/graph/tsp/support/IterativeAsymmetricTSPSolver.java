@@ -1,38 +1,214 @@
 package net.coderodde.graph.tsp.support;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.DenseDirectedGraph;
 import net.coderodde.graph.DirectedGraph;
 import net.coderodde.graph.tsp.AsymmetricTSPSolver;
+import net.coderodde.graph.tsp.CancellationToken;
+import net.coderodde.graph.tsp.TourListener;
 
 /**
  * This class implements a brute-force nonrecursive algorithm for solving the
  * traveling salesman problem.
+ * <p>
+ * The tours are enumerated by a {@link PermutationCursor}, which obtains each
+ * tour from the previous one by swapping two nodes. Since a swap changes at 
+ * most four arcs of the tour, the tour cost is updated in constant time 
+ * instead of being recomputed. Only when the tour enters or leaves a missing
+ * arc, that is, an arc of infinite weight, is the cost recomputed.
+ * <p>
+ * Since all the rotations of a tour have the same cost, the first node of the
+ * tour is fixed by default, so that only <tt>(n - 1)!</tt> tours are 
+ * enumerated.
+ * <p>
+ * The anytime variant of {@code solve} reports the first tour and each
+ * cheaper tour enumerated afterwards. When the time limit runs out or the
+ * search is cancelled, it returns the best tour enumerated so far.
  * 
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Jul 21, 2016)
  */
 public class IterativeAsymmetricTSPSolver extends AsymmetricTSPSolver {
-
+    
+    private final boolean fixFirstNode;
+    
+    /**
+     * Constructs a solver that fixes the first node.
+     */
+    public IterativeAsymmetricTSPSolver() {
+        this(true);
+    }
+    
+    /**
+     * Constructs a solver.
+     * 
+     * @param fixFirstNode if {@code true}, enumerates only the tours starting
+     *                     from the first node of the graph.
+     */
+    public IterativeAsymmetricTSPSolver(final boolean fixFirstNode) {
+        this.fixFirstNode = fixFirstNode;
+    }
+    
     @Override
     public List<Integer> solve(final DirectedGraph graph) {
-        final PermutationIterable<Integer> iterable = 
-                new PermutationIterable<>(
-                        new ArrayList<>(graph.getAllNodes()));
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return solve(new DenseDirectedGraph(graph));
+    }
+    
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return solve(graph, null);
+    }
+    
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph,
+                               final long timeLimitMillis,
+                               final CancellationToken cancellationToken,
+                               final TourListener listener) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        checkTimeLimit(timeLimitMillis);
+        return solve(graph, new SearchLimit(graph,
+                                            SearchLimit.toNanos(
+                                                    timeLimitMillis),
+                                            cancellationToken,
+                                            listener));
+    }
+    
+    /**
+     * Enumerates the tours. The limits of an anytime search are checked every
+     * {@code 1024} tours.
+     *
+     * @param graph       the graph.
+     * @param searchLimit the limits of the search or {@code null}.
+     * @return the best tour found.
+     */
+    private List<Integer> solve(final DenseDirectedGraph graph,
+                                final SearchLimit searchLimit) {
+        final PermutationCursor cursor = 
+                new PermutationCursor(graph.size(), fixFirstNode);
+        final int[] tour = cursor.getPermutation();
         
-        double bestTourCost = Double.POSITIVE_INFINITY;
-        List<Integer> bestTour = new ArrayList<>(graph.getAllNodes());
+        double currentTourCost = getTourCost(graph, tour);
+        double bestTourCost = currentTourCost;
+        final int[] bestTour = tour.clone();
+        int numberOfTours = 0;
         
-        for (final List<Integer> tour : iterable) {
-            final double currentTourCost = getTourCost(graph, tour);
+        if (searchLimit != null) {
+            searchLimit.reportTour(bestTour, bestTourCost);
+        }
+        
+        while (cursor.advance()) {
+            if (searchLimit != null
+                    && (++numberOfTours & 1023) == 0
+                    && searchLimit.isExhausted()) {
+                break;
+            }
+            
+            final int a = cursor.getLastSwapIndexA();
+            final int b = cursor.getLastSwapIndexB();
+            
+            final double delta =
+                    getArcCostAroundSwap(graph, tour, a, b, false) -
+                    getArcCostAroundSwap(graph, tour, a, b, true);
+            
+            if (Double.isFinite(currentTourCost) && Double.isFinite(delta)) {
+                currentTourCost += delta;
+            } else {
+                // A swap touching a missing arc would turn the cost into
+                // 'inf - inf', so recompute it from scratch.
+                currentTourCost = getTourCost(graph, tour);
+            }
             
             if (bestTourCost > currentTourCost) {
-                bestTourCost = currentTourCost;
-                bestTour = tour;
+                // Recompute the cost from scratch so that the rounding errors
+                // of the updates do not accumulate.
+                currentTourCost = getTourCost(graph, tour);
+                
+                if (bestTourCost > currentTourCost) {
+                    bestTourCost = currentTourCost;
+                    System.arraycopy(tour, 0, bestTour, 0, tour.length);
+                    
+                    if (searchLimit != null) {
+                        searchLimit.reportTour(bestTour, bestTourCost);
+                    }
+                }
             }
         }
         
-        return bestTour;
+        return graph.toNodeIdList(bestTour);
+    }
+    
+    /**
+     * Computes the total weight of the distinct arcs of {@code tour} that are 
+     * incident to the positions {@code a} and {@code b}.
+     * 
+     * @param graph          the graph.
+     * @param tour           the tour after swapping the positions {@code a} 
+     *                       and {@code b}.
+     * @param a              the first swapped position.
+     * @param b              the second swapped position.
+     * @param beforeTheSwap  if {@code true}, computes the weight as it was 
+     *                       before the swap.
+     * @return the total arc weight.
+     */
+    private static double getArcCostAroundSwap(final DenseDirectedGraph graph,
+                                               final int[] tour,
+                                               final int a,
+                                               final int b,
+                                               final boolean beforeTheSwap) {
+        final int n = tour.length;
+        // The arcs affected by the swap start at these positions.
+        final int p1 = (a + n - 1) % n;
+        final int p2 = a;
+        final int p3 = (b + n - 1) % n;
+        final int p4 = b;
+        
+        double cost = getArcCost(graph, tour, p1, a, b, beforeTheSwap);
+        
+        if (p2 != p1) {
+            cost += getArcCost(graph, tour, p2, a, b, beforeTheSwap);
+        }
+        
+        if (p3 != p1 && p3 != p2) {
+            cost += getArcCost(graph, tour, p3, a, b, beforeTheSwap);
+        }
+        
+        if (p4 != p1 && p4 != p2 && p4 != p3) {
+            cost += getArcCost(graph, tour, p4, a, b, beforeTheSwap);
+        }
+        
+        return cost;
     }
     
+    private static double getArcCost(final DenseDirectedGraph graph,
+                                     final int[] tour,
+                                     final int position,
+                                     final int a,
+                                     final int b,
+                                     final boolean beforeTheSwap) {
+        final int nextPosition = (position + 1) % tour.length;
+        return graph.getEdgeWeight(
+                getNode(tour, position, a, b, beforeTheSwap),
+                getNode(tour, nextPosition, a, b, beforeTheSwap));
+    }
+    
+    private static int getNode(final int[] tour,
+                               final int position,
+                               final int a,
+                               final int b,
+                               final boolean beforeTheSwap) {
+        if (beforeTheSwap) {
+            if (position == a) {
+                return tour[b];
+            }
+            
+            if (position == b) {
+                return tour[a];
+            }
+        }
+        
+        return tour[position];
+    }
 }
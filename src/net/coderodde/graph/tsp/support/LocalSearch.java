@@ -0,0 +1,814 @@
+package net.coderodde.graph.tsp.support;
+
+import java.util.Random;
+import net.coderodde.graph.DenseDirectedGraph;
+import net.coderodde.graph.tsp.AsymmetricTSPSolver;
+
+/**
+ * This class improves tours over a dense graph by local search. Since the arc
+ * weights are asymmetric, a move may not reverse any part of the tour, so that
+ * only the following two kinds of moves are considered:
+ * <ul>
+ *   <li><b>Or-opt:</b> a segment of at most three nodes is removed from the
+ *       tour and inserted between two other adjacent nodes, keeping its
+ *       orientation.</li>
+ *   <li><b>Segment exchange chain:</b> a sequence of segment exchanges. A
+ *       segment exchange is the only pure 3-opt move that keeps the
+ *       orientation of all the segments: three arcs
+ *       <tt>(t1, t2), (t3, t4), (t5, t6)</tt> are removed from the tour
+ *       <tt>t1 -&gt; t2 ... t3 -&gt; t4 ... t5 -&gt; t6 ... t1</tt>, and the
+ *       segments <tt>t2 ... t3</tt> and <tt>t4 ... t5</tt> swap places. The
+ *       next exchange of the chain removes the arc leaving <tt>t3</tt>, the
+ *       most recently added arc <tt>(t3, t6)</tt>, in the same way.</li>
+ * </ul>
+ * The candidate moves are restricted by neighbor lists: each node keeps the
+ * nodes with the cheapest arcs leaving it and the nodes with the cheapest arcs
+ * entering it, and a move is tried only if the first arc it adds is in a
+ * neighbor list and cheaper than the arc it replaces. The nodes whose
+ * surroundings might allow an improving move are kept in a queue; a node
+ * leaves the queue once no improving move starts from it, and the endpoints
+ * of the arcs changed by each applied move are put back in the queue.
+ * <p>
+ * A chain is built by a depth-first search in the manner of the
+ * Lin-Kernighan heuristic: it is extended as long as its partial gain stays
+ * positive, only the first few extensions are tried at the shallow levels,
+ * and the prefix of the chain with the largest total gain is applied.
+ * <p>
+ * A tour is stored as an array of node indices together with the position of
+ * each node in the array. Applying a move rewrites the shortest stretch of
+ * the array that realizes it. While a chain is being built, the tour is not
+ * changed; instead, the tour after each exchange is represented as a short
+ * list of segments of the array, so that trying an exchange costs time
+ * proportional to the length of the chain rather than to the number of
+ * nodes. The cost of the tour is updated by the gain of each move.
+ * <p>
+ * In order to escape a local optimum, the tour can be perturbed by a random
+ * double-bridge kick (see {@link #kick(Random)}).
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class LocalSearch {
+    
+    /**
+     * The minimum gain of an improving move. Smaller gains are attributed to
+     * the floating point rounding errors.
+     */
+    private static final double EPSILON = 1e-9;
+    
+    /**
+     * The maximum length of a segment relocated by an Or-opt move.
+     */
+    private static final int MAXIMUM_SEGMENT_LENGTH = 3;
+    
+    /**
+     * The maximum length of a segment moved by a kick. Short segments keep
+     * the kicks local, so that the local search repairs them quickly.
+     */
+    private static final int MAXIMUM_KICK_SEGMENT_LENGTH = 50;
+    
+    /**
+     * The maximum number of segment exchanges in a chain.
+     */
+    private static final int MAXIMUM_CHAIN_LENGTH = 6;
+    
+    /**
+     * The maximum number of ways to continue a chain after each of its first
+     * segment exchanges. The deeper exchanges are continued in one way only.
+     */
+    private static final int[] CHAIN_BREADTHS = { 5, 3, 2, 1 };
+    
+    /**
+     * The maximum number of segments the tour of a chain consists of. Each
+     * segment exchange cuts the segments at most three times.
+     */
+    private static final int MAXIMUM_NUMBER_OF_SEGMENTS =
+            3 * MAXIMUM_CHAIN_LENGTH + 1;
+    
+    private final int numberOfNeighbors;
+    private DenseDirectedGraph graph;
+    private int n;
+    private int k;
+    
+    /**
+     * The neighbor lists sorted by the weights of the arcs leaving the nodes.
+     */
+    private int[] successorLists;
+    
+    /**
+     * The neighbor lists sorted by the weights of the arcs entering the nodes.
+     */
+    private int[] predecessorLists;
+    private int[] tour;
+    private int[] positions;
+    private int[] buffer;
+    private int[] queue;
+    private int queueHead;
+    private int queueSize;
+    private boolean[] queued;
+    private double tourCost;
+    
+    // The segment exchanges of the current chain: the node preceding
+    // the segments, the lengths of the two segments and the six endpoints of
+    // the changed arcs.
+    private final int[] chainNodes = new int[MAXIMUM_CHAIN_LENGTH];
+    private final int[] chainLengths1 = new int[MAXIMUM_CHAIN_LENGTH];
+    private final int[] chainLengths2 = new int[MAXIMUM_CHAIN_LENGTH];
+    private final int[] chainEndpoints = new int[6 * MAXIMUM_CHAIN_LENGTH];
+    private int chainLength;
+    private int bestChainLength;
+    private double bestChainGain;
+    
+    /**
+     * The offset within its segment of the position last looked up by
+     * {@link #findSegment(int)}.
+     */
+    private int segmentOffset;
+    
+    // The tour after each prefix of the chain, as a list of segments of the
+    // tour array: the position of the first node of each segment and its
+    // length. The segments may wrap around the end of the array.
+    private final int[] segmentStarts =
+            new int[(MAXIMUM_CHAIN_LENGTH + 1) * MAXIMUM_NUMBER_OF_SEGMENTS];
+    private final int[] segmentLengths =
+            new int[(MAXIMUM_CHAIN_LENGTH + 1) * MAXIMUM_NUMBER_OF_SEGMENTS];
+    private final int[] numbersOfSegments = new int[MAXIMUM_CHAIN_LENGTH + 1];
+    private final int[] pieceStarts = new int[MAXIMUM_NUMBER_OF_SEGMENTS];
+    private final int[] pieceLengths = new int[MAXIMUM_NUMBER_OF_SEGMENTS];
+    
+    LocalSearch(final int numberOfNeighbors) {
+        this.numberOfNeighbors = numberOfNeighbors;
+    }
+    
+    /**
+     * Starts improving {@code tour} over {@code graph}. All the nodes are put
+     * in the queue. The neighbor lists are computed only if the graph is not
+     * the one of the previous tour.
+     *
+     * @param graph the graph.
+     * @param tour  the tour as node indices.
+     */
+    void load(final DenseDirectedGraph graph, final int[] tour) {
+        if (this.graph != graph) {
+            this.graph = graph;
+            this.n = graph.size();
+            this.successorLists =
+                    TourUtils.computeNeighborLists(graph,
+                                                   numberOfNeighbors,
+                                                   false);
+            this.predecessorLists =
+                    TourUtils.computeNeighborLists(graph,
+                                                   numberOfNeighbors,
+                                                   true);
+            this.k = n == 0 ? 0 : successorLists.length / n;
+            this.tour = new int[n];
+            this.positions = new int[n];
+            this.buffer = new int[n];
+            this.queue = new int[n];
+            this.queued = new boolean[n];
+        }
+        
+        restore(tour, AsymmetricTSPSolver.getTourCost(graph, tour));
+        
+        for (int i = 0; i < n; ++i) {
+            activate(tour[i]);
+        }
+    }
+    
+    /**
+     * Replaces the current tour with {@code tour} over the same graph and
+     * empties the queue. Unlike {@link #load}, this does not put any node in
+     * the queue, and so is meant for returning to a locally optimal tour.
+     *
+     * @param tour     the tour as node indices.
+     * @param tourCost the cost of the tour.
+     */
+    void restore(final int[] tour, final double tourCost) {
+        System.arraycopy(tour, 0, this.tour, 0, n);
+        this.tourCost = tourCost;
+        queueHead = 0;
+        queueSize = 0;
+        
+        for (int i = 0; i < n; ++i) {
+            positions[tour[i]] = i;
+            queued[i] = false;
+        }
+    }
+    
+    /**
+     * Applies improving moves until no node in the queue admits one.
+     */
+    void optimize() {
+        optimize(null);
+    }
+    
+    /**
+     * Applies improving moves until no node in the queue admits one or the
+     * limits of an anytime search are exhausted. The limits are checked every
+     * {@code 1024} nodes taken from the queue. The tour is valid whenever
+     * this method returns.
+     *
+     * @param searchLimit the limits of the search or {@code null}.
+     */
+    void optimize(final SearchLimit searchLimit) {
+        int numberOfSteps = 0;
+        
+        while (queueSize > 0) {
+            if (searchLimit != null
+                    && (++numberOfSteps & 1023) == 0
+                    && searchLimit.isExhausted()) {
+                return;
+            }
+            
+            final int node = queue[queueHead];
+            queueHead = queueHead + 1 == n ? 0 : queueHead + 1;
+            queueSize--;
+            queued[node] = false;
+            
+            if (!improveByOrOpt(node)) {
+                improveBySegmentExchangeChain(node);
+            }
+        }
+    }
+    
+    /**
+     * Returns a copy of the current tour.
+     *
+     * @return the tour as node indices.
+     */
+    int[] getTour() {
+        return tour.clone();
+    }
+    
+    /**
+     * Copies the current tour to {@code destination}.
+     *
+     * @param destination the array of at least as many elements as there are
+     *                    nodes.
+     */
+    void copyTour(final int[] destination) {
+        System.arraycopy(tour, 0, destination, 0, n);
+    }
+    
+    /**
+     * Returns the cost of the current tour.
+     *
+     * @return the tour cost.
+     */
+    double getTourCost() {
+        if (!Double.isFinite(tourCost)) {
+            // The gains over infinite arc weights are meaningless.
+            tourCost = AsymmetricTSPSolver.getTourCost(graph, tour);
+        }
+        
+        return tourCost;
+    }
+    
+    /**
+     * Perturbs the tour by a double-bridge kick. In the asymmetric setting,
+     * the double-bridge move swaps two adjacent segments, which is exactly a
+     * segment exchange; the kick chooses the segments at random regardless of
+     * the gain. The endpoints of the changed arcs are put in the queue.
+     *
+     * @param random the random number generator.
+     */
+    void kick(final Random random) {
+        if (n < 3) {
+            return;
+        }
+        
+        final int maximumLength = Math.min(MAXIMUM_KICK_SEGMENT_LENGTH,
+                                           (n - 1) / 2);
+        final int length1 = 1 + random.nextInt(maximumLength);
+        final int length2 = 1 + random.nextInt(maximumLength);
+        final int t1 = tour[random.nextInt(n)];
+        final int t2 = getNext(t1);
+        final int t3 = tour[(positions[t1] + length1) % n];
+        final int t4 = getNext(t3);
+        final int t5 = tour[(positions[t1] + length1 + length2) % n];
+        final int t6 = getNext(t5);
+        tourCost += weight(t1, t4) + weight(t5, t2) + weight(t3, t6)
+                  - weight(t1, t2) - weight(t3, t4) - weight(t5, t6);
+        exchangeSegments(t1, length1, length2);
+        activate(t1);
+        activate(t2);
+        activate(t3);
+        activate(t4);
+        activate(t5);
+        activate(t6);
+    }
+    
+    /**
+     * Puts {@code node} in the queue unless it is there already.
+     *
+     * @param node the node.
+     */
+    void activate(final int node) {
+        if (!queued[node]) {
+            queued[node] = true;
+            queue[(queueHead + queueSize) % n] = node;
+            queueSize++;
+        }
+    }
+    
+    /**
+     * Tries to relocate a segment starting at {@code first}.
+     *
+     * @param first the first node of the segment.
+     * @return {@code true} if an improving move was applied.
+     */
+    private boolean improveByOrOpt(final int first) {
+        final int previous = getPrevious(first);
+        int last = first;
+        
+        for (int length = 1;
+                length <= MAXIMUM_SEGMENT_LENGTH && length <= n - 2;
+                ++length, last = getNext(last)) {
+            final int next = getNext(last);
+            final double removalGain = weight(previous, first) +
+                                       weight(last, next) -
+                                       weight(previous, next);
+            
+            if (!(removalGain > EPSILON)) {
+                continue;
+            }
+            
+            // Insert the segment right after one of the nodes with a cheap arc
+            // to the first node of the segment.
+            for (int i = 0; i < k; ++i) {
+                final int tail = predecessorLists[first * k + i];
+                
+                if (!(removalGain - weight(tail, first) > EPSILON)) {
+                    break;
+                }
+                
+                if (tail == previous || getOffset(first, tail) < length) {
+                    continue;
+                }
+                
+                if (tryInsertion(previous, first, last, next,
+                                 tail, getNext(tail),
+                                 length, removalGain)) {
+                    return true;
+                }
+            }
+            
+            // Insert the segment right before one of the nodes with a cheap
+            // arc from the last node of the segment.
+            for (int i = 0; i < k; ++i) {
+                final int head = successorLists[last * k + i];
+                
+                if (!(removalGain - weight(last, head) > EPSILON)) {
+                    break;
+                }
+                
+                if (head == next || getOffset(first, head) < length) {
+                    continue;
+                }
+                
+                if (tryInsertion(previous, first, last, next,
+                                 getPrevious(head), head,
+                                 length, removalGain)) {
+                    return true;
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Moves the segment {@code first ... last} between the adjacent nodes
+     * {@code tail} and {@code head} if this shortens the tour.
+     */
+    private boolean tryInsertion(final int previous,
+                                 final int first,
+                                 final int last,
+                                 final int next,
+                                 final int tail,
+                                 final int head,
+                                 final int length,
+                                 final double removalGain) {
+        final double gain = removalGain + weight(tail, head)
+                                        - weight(tail, first)
+                                        - weight(last, head);
+        
+        if (!(gain > EPSILON)) {
+            return false;
+        }
+        
+        // The segment next ... tail follows the relocated segment, so that
+        // the move swaps the two.
+        exchangeSegments(previous, length, getOffset(next, tail) + 1);
+        tourCost -= gain;
+        activate(previous);
+        activate(first);
+        activate(last);
+        activate(next);
+        activate(tail);
+        activate(head);
+        return true;
+    }
+    
+    /**
+     * Tries to remove the arc leaving {@code t1} by a chain of segment
+     * exchanges.
+     *
+     * @param t1 the tail of the first removed arc.
+     * @return {@code true} if an improving chain was applied.
+     */
+    private boolean improveBySegmentExchangeChain(final int t1) {
+        if (n < 3) {
+            return false;
+        }
+        
+        chainLength = 0;
+        bestChainLength = 0;
+        bestChainGain = EPSILON;
+        numbersOfSegments[0] = 1;
+        segmentStarts[0] = 0;
+        segmentLengths[0] = n;
+        
+        if (!extendChain(t1, 0.0)) {
+            return false;
+        }
+        
+        // Apply the best prefix of the chain to the tour.
+        for (int i = 0; i < bestChainLength; ++i) {
+            exchangeSegments(chainNodes[i],
+                             chainLengths1[i],
+                             chainLengths2[i]);
+        }
+        
+        for (int i = 0; i < 6 * bestChainLength; ++i) {
+            activate(chainEndpoints[i]);
+        }
+        
+        tourCost -= bestChainGain;
+        return true;
+    }
+    
+    /**
+     * Extends the current chain by a segment exchange removing the arc
+     * leaving {@code t1}.
+     *
+     * @param t1   the tail of the arc to remove.
+     * @param gain the gain of the chain so far.
+     * @return {@code true} if an improving chain was found.
+     */
+    private boolean extendChain(final int t1, final double gain) {
+        final int depth = chainLength;
+        final int breadth = depth + 1 == MAXIMUM_CHAIN_LENGTH ? 0 :
+                            depth < CHAIN_BREADTHS.length ?
+                            CHAIN_BREADTHS[depth] : 1;
+        final int t2 = getChainNext(t1);
+        final double openGain = gain + weight(t1, t2);
+        int numberOfExtensions = 0;
+        
+        for (int i = 0; i < k; ++i) {
+            final int t4 = successorLists[t1 * k + i];
+            final double gain1 = openGain - weight(t1, t4);
+            
+            if (!(gain1 > EPSILON)) {
+                break;
+            }
+            
+            if (t4 == t2) {
+                continue;
+            }
+            
+            final int t3 = getChainPrevious(t4);
+            final int offset4 = getChainOffset(t1, t4);
+            final double gain2 = gain1 + weight(t3, t4);
+            
+            for (int j = 0; j < k; ++j) {
+                final int t5 = predecessorLists[t2 * k + j];
+                final double gain3 = gain2 - weight(t5, t2);
+                
+                if (!(gain3 > EPSILON)) {
+                    break;
+                }
+                
+                final int offset5 = getChainOffset(t1, t5);
+                
+                if (offset5 < offset4) {
+                    // t5 is not in the segment t4 ... t1.
+                    continue;
+                }
+                
+                final int t6 = getChainNext(t5);
+                final double closedGain = gain3 + weight(t5, t6)
+                                                - weight(t3, t6);
+                final boolean improving = closedGain > bestChainGain;
+                final boolean extending = numberOfExtensions < breadth;
+                
+                if (!improving && !extending) {
+                    continue;
+                }
+                
+                pushExchange(t1, t2, t3, t4, t5, t6,
+                             offset4 - 1,
+                             offset5 - offset4 + 1);
+                
+                if (improving) {
+                    bestChainGain = closedGain;
+                    bestChainLength = chainLength;
+                }
+                
+                if (extending) {
+                    numberOfExtensions++;
+                    extendChain(t3, closedGain);
+                }
+                
+                if (bestChainLength > 0) {
+                    return true;
+                }
+                
+                chainLength--;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Pushes on the chain the segment exchange swapping the {@code length1}
+     * nodes following {@code t1} with the {@code length2} nodes following
+     * them. The tour is not changed; the new segment list is computed from
+     * the one of the previous exchange instead.
+     */
+    private void pushExchange(final int t1, final int t2, final int t3,
+                              final int t4, final int t5, final int t6,
+                              final int length1,
+                              final int length2) {
+        final int index = chainLength;
+        chainNodes[index] = t1;
+        chainLengths1[index] = length1;
+        chainLengths2[index] = length2;
+        chainEndpoints[6 * index] = t1;
+        chainEndpoints[6 * index + 1] = t2;
+        chainEndpoints[6 * index + 2] = t3;
+        chainEndpoints[6 * index + 3] = t4;
+        chainEndpoints[6 * index + 4] = t5;
+        chainEndpoints[6 * index + 5] = t6;
+        
+        // Walk the tour from the successor of t1, cutting the segments at the
+        // ends of the two exchanged stretches. The pieces of the first
+        // stretch go to the temporary buffer, the others right to the new
+        // list; then the first stretch is appended after the second one.
+        final int base = index * MAXIMUM_NUMBER_OF_SEGMENTS;
+        final int newBase = base + MAXIMUM_NUMBER_OF_SEGMENTS;
+        final int numberOfSegments = numbersOfSegments[index];
+        final int position = positions[t2];
+        int segment = 0;
+        int offset;
+        
+        for (;;) {
+            offset = position - segmentStarts[base + segment];
+            
+            if (offset < 0) {
+                offset += n;
+            }
+            
+            if (offset < segmentLengths[base + segment]) {
+                break;
+            }
+            
+            segment++;
+        }
+        
+        int walked = 0;
+        int numberOfFirstPieces = 0;
+        int numberOfNewSegments = 0;
+        
+        while (walked < n) {
+            int start = segmentStarts[base + segment] + offset;
+            int remaining = segmentLengths[base + segment] - offset;
+            
+            if (start >= n) {
+                start -= n;
+            }
+            
+            while (remaining > 0 && walked < n) {
+                final int end = walked < length1 ? length1 :
+                                walked < length1 + length2 ?
+                                length1 + length2 : n;
+                final int length = Math.min(remaining, end - walked);
+                
+                if (walked < length1) {
+                    pieceStarts[numberOfFirstPieces] = start;
+                    pieceLengths[numberOfFirstPieces++] = length;
+                } else {
+                    segmentStarts[newBase + numberOfNewSegments] = start;
+                    segmentLengths[newBase + numberOfNewSegments++] = length;
+                }
+                
+                walked += length;
+                remaining -= length;
+                start += length;
+                
+                if (start >= n) {
+                    start -= n;
+                }
+            }
+            
+            segment = segment + 1 == numberOfSegments ? 0 : segment + 1;
+            offset = 0;
+        }
+        
+        // Move the pieces of the second stretch to the front, followed by
+        // the first stretch and the rest of the tour.
+        int secondPieces = 0;
+        int walkedSecond = 0;
+        
+        while (walkedSecond < length2) {
+            walkedSecond += segmentLengths[newBase + secondPieces++];
+        }
+        
+        final int restPieces = numberOfNewSegments - secondPieces;
+        
+        for (int i = 0; i < restPieces; ++i) {
+            pieceStarts[numberOfFirstPieces + i] =
+                    segmentStarts[newBase + secondPieces + i];
+            pieceLengths[numberOfFirstPieces + i] =
+                    segmentLengths[newBase + secondPieces + i];
+        }
+        
+        numberOfNewSegments = secondPieces;
+        
+        for (int i = 0; i < numberOfFirstPieces + restPieces; ++i) {
+            final int start = pieceStarts[i];
+            final int length = pieceLengths[i];
+            final int last = newBase + numberOfNewSegments - 1;
+            final int lastEnd = segmentStarts[last] + segmentLengths[last];
+            
+            if (lastEnd == start || lastEnd == start + n) {
+                // The piece continues the previous segment.
+                segmentLengths[last] += length;
+            } else {
+                segmentStarts[last + 1] = start;
+                segmentLengths[last + 1] = length;
+                numberOfNewSegments++;
+            }
+        }
+        
+        numbersOfSegments[index + 1] = numberOfNewSegments;
+        chainLength++;
+    }
+    
+    /**
+     * Swaps the segment of {@code length1} nodes following {@code node} with
+     * the segment of {@code length2} nodes following it.
+     * <p>
+     * Together with the rest of the tour, the two segments split the tour in
+     * three, and swapping any two of the three yields the same cyclic order.
+     * Hence only the two shortest segments are rewritten.
+     *
+     * @param node    the node preceding the first segment.
+     * @param length1 the length of the first segment.
+     * @param length2 the length of the second segment.
+     */
+    private void exchangeSegments(final int node,
+                                  final int length1,
+                                  final int length2) {
+        final int length3 = n - length1 - length2;
+        final int start1 = (positions[node] + 1) % n;
+        final int start2 = (start1 + length1) % n;
+        final int start3 = (start2 + length2) % n;
+        
+        if (length3 >= length1 && length3 >= length2) {
+            swapAdjacentSegments(start1, length1, length2);
+        } else if (length1 >= length2) {
+            swapAdjacentSegments(start2, length2, length3);
+        } else {
+            swapAdjacentSegments(start3, length3, length1);
+        }
+    }
+    
+    private void swapAdjacentSegments(final int start,
+                                      final int length1,
+                                      final int length2) {
+        for (int i = 0; i < length2; ++i) {
+            buffer[i] = tour[(start + length1 + i) % n];
+        }
+        
+        for (int i = 0; i < length1; ++i) {
+            buffer[length2 + i] = tour[(start + i) % n];
+        }
+        
+        for (int i = 0; i < length1 + length2; ++i) {
+            final int position = (start + i) % n;
+            tour[position] = buffer[i];
+            positions[buffer[i]] = position;
+        }
+    }
+    
+    private double weight(final int tail, final int head) {
+        return graph.getEdgeWeight(tail, head);
+    }
+    
+    private int getNext(final int node) {
+        final int position = positions[node] + 1;
+        return tour[position == n ? 0 : position];
+    }
+    
+    private int getPrevious(final int node) {
+        final int position = positions[node];
+        return tour[position == 0 ? n - 1 : position - 1];
+    }
+    
+    /**
+     * Returns the number of arcs on the tour from {@code from} to
+     * {@code node}.
+     */
+    private int getOffset(final int from, final int node) {
+        final int offset = positions[node] - positions[from];
+        return offset < 0 ? offset + n : offset;
+    }
+    
+    /**
+     * Returns the index of the segment containing the position
+     * {@code position} in the segment list of the current chain, and stores
+     * the offset of the position within the segment in
+     * {@code segmentOffset}.
+     */
+    private int findSegment(final int position) {
+        final int base = chainLength * MAXIMUM_NUMBER_OF_SEGMENTS;
+        
+        for (int segment = base; ; ++segment) {
+            int offset = position - segmentStarts[segment];
+            
+            if (offset < 0) {
+                offset += n;
+            }
+            
+            if (offset < segmentLengths[segment]) {
+                segmentOffset = offset;
+                return segment;
+            }
+        }
+    }
+    
+    private int getChainNext(final int node) {
+        if (chainLength == 0) {
+            return getNext(node);
+        }
+        
+        final int segment = findSegment(positions[node]);
+        
+        if (segmentOffset + 1 < segmentLengths[segment]) {
+            return getNext(node);
+        }
+        
+        final int base = chainLength * MAXIMUM_NUMBER_OF_SEGMENTS;
+        final int next = segment + 1 ==
+                         base + numbersOfSegments[chainLength] ?
+                         base : segment + 1;
+        return tour[segmentStarts[next]];
+    }
+    
+    private int getChainPrevious(final int node) {
+        if (chainLength == 0) {
+            return getPrevious(node);
+        }
+        
+        final int segment = findSegment(positions[node]);
+        
+        if (segmentOffset > 0) {
+            return getPrevious(node);
+        }
+        
+        final int base = chainLength * MAXIMUM_NUMBER_OF_SEGMENTS;
+        final int previous = segment == base ?
+                             base + numbersOfSegments[chainLength] - 1 :
+                             segment - 1;
+        final int position = segmentStarts[previous]
+                           + segmentLengths[previous] - 1;
+        return tour[position >= n ? position - n : position];
+    }
+    
+    /**
+     * Returns the number of arcs from {@code from} to {@code node} on the
+     * tour of the current chain.
+     */
+    private int getChainOffset(final int from, final int node) {
+        if (chainLength == 0) {
+            return getOffset(from, node);
+        }
+        
+        final int offset = getChainPosition(node) - getChainPosition(from);
+        return offset < 0 ? offset + n : offset;
+    }
+    
+    private int getChainPosition(final int node) {
+        final int base = chainLength * MAXIMUM_NUMBER_OF_SEGMENTS;
+        final int segment = findSegment(positions[node]);
+        int position = segmentOffset;
+        
+        for (int i = base; i < segment; ++i) {
+            position += segmentLengths[i];
+        }
+        
+        return position;
+    }
+}
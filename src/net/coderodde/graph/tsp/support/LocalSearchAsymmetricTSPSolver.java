@@ -0,0 +1,183 @@
+package net.coderodde.graph.tsp.support;
+
+import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.DenseDirectedGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.tsp.AsymmetricTSPSolver;
+import net.coderodde.graph.tsp.CancellationToken;
+import net.coderodde.graph.tsp.TourListener;
+
+/**
+ * This class implements a heuristic asymmetric traveling salesman problem
+ * solver. It builds a nearest neighbor tour and improves it by local search
+ * with Or-opt moves and chains of segment exchanges, none of which reverses
+ * any part of the tour. The candidate moves are restricted by neighbor lists
+ * over the cost matrix, so that the search handles graphs with hundreds of
+ * nodes in milliseconds. The returned tour is locally optimal but not
+ * necessarily optimal.
+ * <p>
+ * The local search is also available as a post-processing step for the tours
+ * found by any other solver via {@link #improveTour(DirectedGraph, List)}.
+ * <p>
+ * The anytime variant of {@code solve} reports the nearest neighbor tour and
+ * the improved tour. When the time limit runs out or the search is cancelled,
+ * it returns the tour improved so far.
+ * <p>
+ * Just like the other solvers, this solver expects a complete graph (see
+ * {@link net.coderodde.graph.tsp.TSPGraphPreprocessor}).
+ * <p>
+ * Note that this class maintains state, so that if you need to run the
+ * algorithm in parallel, make sure that each thread constructs its own instance
+ * of this class.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class LocalSearchAsymmetricTSPSolver extends AsymmetricTSPSolver {
+    
+    /**
+     * The default length of the neighbor lists.
+     */
+    public static final int DEFAULT_NUMBER_OF_NEIGHBORS = 10;
+    
+    private final LocalSearch localSearch;
+    
+    /**
+     * Constructs a solver with the default length of the neighbor lists.
+     */
+    public LocalSearchAsymmetricTSPSolver() {
+        this(DEFAULT_NUMBER_OF_NEIGHBORS);
+    }
+    
+    /**
+     * Constructs a solver. Longer neighbor lists let the search consider more
+     * moves at the expense of the running time.
+     *
+     * @param numberOfNeighbors the length of the neighbor lists.
+     */
+    public LocalSearchAsymmetricTSPSolver(final int numberOfNeighbors) {
+        if (numberOfNeighbors < 1) {
+            throw new IllegalArgumentException(
+                    "The number of neighbors must be positive, received " +
+                    numberOfNeighbors + ".");
+        }
+        
+        this.localSearch = new LocalSearch(numberOfNeighbors);
+    }
+    
+    @Override
+    public List<Integer> solve(final DirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return solve(new DenseDirectedGraph(graph));
+    }
+    
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        
+        if (graph.size() == 0) {
+            throw new IllegalArgumentException("The input graph is empty.");
+        }
+        
+        return improveTour(graph, TourUtils.buildNearestNeighborTour(graph, 0));
+    }
+    
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph,
+                               final long timeLimitMillis,
+                               final CancellationToken cancellationToken,
+                               final TourListener listener) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        checkTimeLimit(timeLimitMillis);
+        
+        if (graph.size() == 0) {
+            throw new IllegalArgumentException("The input graph is empty.");
+        }
+        
+        final SearchLimit searchLimit =
+                new SearchLimit(graph,
+                                SearchLimit.toNanos(timeLimitMillis),
+                                cancellationToken,
+                                listener);
+        localSearch.load(graph, TourUtils.buildNearestNeighborTour(graph, 0));
+        final double initialTourCost = localSearch.getTourCost();
+        searchLimit.reportTour(localSearch.getTour(), initialTourCost);
+        localSearch.optimize(searchLimit);
+        
+        final int[] tour = localSearch.getTour();
+        final double tourCost = localSearch.getTourCost();
+        
+        if (tourCost < initialTourCost) {
+            searchLimit.reportTour(tour, tourCost);
+        }
+        
+        return graph.toNodeIdList(tour);
+    }
+    
+    /**
+     * Improves the tour {@code tour} over the graph {@code graph} by local
+     * search. The returned tour is never more expensive than the input tour.
+     *
+     * @param graph the graph.
+     * @param tour  the tour to improve; must visit each node exactly once.
+     * @return the improved tour.
+     */
+    public List<Integer> improveTour(final DirectedGraph graph,
+                                     final List<Integer> tour) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return improveTour(new DenseDirectedGraph(graph), tour);
+    }
+    
+    /**
+     * Improves the tour {@code tour} over the dense graph {@code graph} by
+     * local search. The returned tour is never more expensive than the input
+     * tour.
+     *
+     * @param graph the graph.
+     * @param tour  the tour to improve; must visit each node exactly once.
+     * @return the improved tour.
+     */
+    public List<Integer> improveTour(final DenseDirectedGraph graph,
+                                     final List<Integer> tour) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(tour, "The input tour is null.");
+        
+        if (tour.size() != graph.size()) {
+            throw new IllegalArgumentException(
+                    "The input tour has " + tour.size() + " nodes, while " +
+                    "the input graph has " + graph.size() + ".");
+        }
+        
+        final int[] nodeIndices = new int[tour.size()];
+        final boolean[] visited = new boolean[tour.size()];
+        
+        for (int i = 0; i < nodeIndices.length; ++i) {
+            final Integer node = tour.get(i);
+            Objects.requireNonNull(node, "The input tour contains null.");
+            nodeIndices[i] = graph.getNodeIndex(node);
+            
+            if (nodeIndices[i] == -1) {
+                throw new IllegalArgumentException(
+                        "The node " + node + " is not in the input graph.");
+            }
+            
+            if (visited[nodeIndices[i]]) {
+                throw new IllegalArgumentException(
+                        "The node " + node + " appears twice in the input " +
+                        "tour.");
+            }
+            
+            visited[nodeIndices[i]] = true;
+        }
+        
+        return improveTour(graph, nodeIndices);
+    }
+    
+    private List<Integer> improveTour(final DenseDirectedGraph graph,
+                                      final int[] tour) {
+        localSearch.load(graph, tour);
+        localSearch.optimize();
+        return graph.toNodeIdList(localSearch.getTour());
+    }
+}
@@ -0,0 +1,422 @@
+package net.coderodde.graph.tsp.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import net.coderodde.graph.DenseDirectedGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.tsp.AsymmetricTSPSolver;
+import net.coderodde.graph.tsp.CancellationToken;
+import net.coderodde.graph.tsp.TourListener;
+
+/**
+ * This class implements a parallel branch-and-bound solver for the asymmetric
+ * traveling salesman problem. The first node of the tour is fixed, and the
+ * search tree is split into fork-join tasks by the next {@code splitDepth}
+ * nodes of the tour. Each task searches its subtree sequentially. The cost of
+ * the best tour found so far is shared by all tasks via a lock-free atomic
+ * variable, so that a good tour found by one task prunes the subtrees of all
+ * the others. The best tours of the tasks are merged once the search is over.
+ * <p>
+ * The lower bound and the initial tour are the same as in
+ * {@link DefaultAsymmetricTSPSolver}. Unlike that class, this class holds no
+ * state between the calls to {@code solve}, so it may be shared between
+ * threads.
+ * <p>
+ * The anytime variant of {@code solve} shares its limits with all the tasks.
+ * Each task checks them every {@code 1024} expansions, and once they are
+ * exhausted, all the tasks stop and the best tour found so far is returned.
+ * The initial tour and each cheaper tour found by any task are reported to
+ * the listener, one at a time and in the order of decreasing cost.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class ParallelAsymmetricTSPSolver extends AsymmetricTSPSolver {
+    
+    /**
+     * The default number of nodes after the first one that are fixed before a
+     * subtree is searched sequentially.
+     */
+    private static final int DEFAULT_SPLIT_DEPTH = 2;
+    
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+    
+    /**
+     * Constructs a solver running on the common fork-join pool.
+     */
+    public ParallelAsymmetricTSPSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH);
+    }
+    
+    /**
+     * Constructs a solver.
+     *
+     * @param pool       the fork-join pool to run the tasks on.
+     * @param splitDepth the number of nodes after the first one fixed by the
+     *                   tasks that fork more tasks.
+     */
+    public ParallelAsymmetricTSPSolver(final ForkJoinPool pool,
+                                       final int splitDepth) {
+        this.pool = Objects.requireNonNull(pool, "The pool is null.");
+        
+        if (splitDepth < 0) {
+            throw new IllegalArgumentException(
+                    "The split depth is negative: " + splitDepth + ".");
+        }
+        
+        this.splitDepth = splitDepth;
+    }
+    
+    @Override
+    public List<Integer> solve(final DirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        return solve(new DenseDirectedGraph(graph));
+    }
+    
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        
+        if (graph.size() == 0) {
+            throw new IllegalArgumentException("The input graph is empty.");
+        }
+        
+        return solve(graph, null);
+    }
+    
+    @Override
+    public List<Integer> solve(final DenseDirectedGraph graph,
+                               final long timeLimitMillis,
+                               final CancellationToken cancellationToken,
+                               final TourListener listener) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        checkTimeLimit(timeLimitMillis);
+        
+        if (graph.size() == 0) {
+            throw new IllegalArgumentException("The input graph is empty.");
+        }
+        
+        return solve(graph, new SearchLimit(graph,
+                                            SearchLimit.toNanos(
+                                                    timeLimitMillis),
+                                            cancellationToken,
+                                            listener));
+    }
+    
+    private List<Integer> solve(final DenseDirectedGraph graph,
+                                final SearchLimit searchLimit) {
+        final int n = graph.size();
+        final int[] initialTour = TourUtils.buildNearestNeighborTour(graph);
+        final SearchState state =
+                new SearchState(graph,
+                                splitDepth,
+                                getTourCost(graph, initialTour),
+                                searchLimit);
+        
+        if (searchLimit != null) {
+            searchLimit.reportTour(initialTour, state.getBestTourCost());
+        }
+        
+        final boolean[] visited = new boolean[n];
+        final int[] prefix = new int[n];
+        double unvisitedLowerBound = 0.0;
+        
+        for (int node = 1; node < n; ++node) {
+            unvisitedLowerBound += state.minimumOutgoingArcWeights[node];
+        }
+        
+        visited[0] = true;
+        
+        final SearchResult result =
+                pool.invoke(new SearchTask(state,
+                                           prefix,
+                                           1,
+                                           visited,
+                                           0.0,
+                                           unvisitedLowerBound));
+        
+        return graph.toNodeIdList(result == null ? initialTour : result.tour);
+    }
+    
+    /**
+     * Holds the data shared by all the tasks of a single search.
+     */
+    private static final class SearchState {
+        
+        final DenseDirectedGraph graph;
+        final int splitDepth;
+        final double[] minimumOutgoingArcWeights;
+        
+        /**
+         * The bits of the cost of the best tour found so far.
+         */
+        final AtomicLong bestTourCostBits;
+        
+        /**
+         * The limits of the anytime search or {@code null} if the search runs
+         * to completion.
+         */
+        final SearchLimit searchLimit;
+        
+        /**
+         * Set once the limits are exhausted, so that all the tasks stop.
+         */
+        volatile boolean stopped;
+        
+        /**
+         * The cost of the last tour reported to the listener. Guarded by
+         * {@code this}.
+         */
+        private double reportedTourCost;
+        
+        SearchState(final DenseDirectedGraph graph,
+                    final int splitDepth,
+                    final double initialTourCost,
+                    final SearchLimit searchLimit) {
+            this.graph = graph;
+            this.splitDepth = splitDepth;
+            this.minimumOutgoingArcWeights =
+                    TourUtils.computeMinimumOutgoingArcWeights(graph);
+            this.bestTourCostBits =
+                    new AtomicLong(Double.doubleToLongBits(initialTourCost));
+            this.searchLimit = searchLimit;
+            this.reportedTourCost = initialTourCost;
+        }
+        
+        double getBestTourCost() {
+            return Double.longBitsToDouble(bestTourCostBits.get());
+        }
+        
+        /**
+         * Lowers the cost of the best tour found so far to {@code cost}.
+         *
+         * @param cost the cost of a new tour.
+         * @return {@code true} if {@code cost} is lower than the best cost.
+         */
+        boolean offerTourCost(final double cost) {
+            for (;;) {
+                final long currentBits = bestTourCostBits.get();
+                
+                if (!(Double.longBitsToDouble(currentBits) > cost)) {
+                    return false;
+                }
+                
+                if (bestTourCostBits.compareAndSet(
+                        currentBits,
+                        Double.doubleToLongBits(cost))) {
+                    return true;
+                }
+            }
+        }
+        
+        /**
+         * Reports a new best tour to the listener. Since the tasks may offer
+         * their tours in any order, a tour is reported only if it is cheaper
+         * than the last reported one.
+         *
+         * @param tour the tour as node indices.
+         * @param cost the cost of the tour.
+         */
+        synchronized void reportTour(final int[] tour, final double cost) {
+            if (searchLimit != null && reportedTourCost > cost) {
+                reportedTourCost = cost;
+                searchLimit.reportTour(tour, cost);
+            }
+        }
+        
+        /**
+         * Stops all the tasks if the limits of the anytime search are
+         * exhausted.
+         */
+        void checkSearchLimit() {
+            if (searchLimit != null && searchLimit.isExhausted()) {
+                stopped = true;
+            }
+        }
+    }
+    
+    /**
+     * Holds the best tour found by a task.
+     */
+    private static final class SearchResult {
+        
+        final int[] tour;
+        final double cost;
+        
+        SearchResult(final int[] tour, final double cost) {
+            this.tour = tour;
+            this.cost = cost;
+        }
+        
+        static SearchResult better(final SearchResult a,
+                                   final SearchResult b) {
+            if (a == null) {
+                return b;
+            }
+            
+            if (b == null) {
+                return a;
+            }
+            
+            return a.cost <= b.cost ? a : b;
+        }
+    }
+    
+    /**
+     * Searches all the tours starting with a given prefix.
+     */
+    private static final class SearchTask
+    extends RecursiveTask<SearchResult> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final SearchState state;
+        private final int[] tentativeTour;
+        private final boolean[] visited;
+        private int tentativeTourSize;
+        private double tentativeTourCost;
+        private double unvisitedLowerBound;
+        private int[] bestTour;
+        private double bestTourCost = Double.POSITIVE_INFINITY;
+        private int numberOfExpansions;
+        
+        SearchTask(final SearchState state,
+                   final int[] prefix,
+                   final int prefixSize,
+                   final boolean[] visited,
+                   final double prefixCost,
+                   final double unvisitedLowerBound) {
+            this.state = state;
+            this.tentativeTour = prefix.clone();
+            this.visited = visited.clone();
+            this.tentativeTourSize = prefixSize;
+            this.tentativeTourCost = prefixCost;
+            this.unvisitedLowerBound = unvisitedLowerBound;
+        }
+        
+        @Override
+        protected SearchResult compute() {
+            final int n = state.graph.size();
+            
+            if (tentativeTourSize == n) {
+                checkCompleteTour();
+            } else if (tentativeTourSize > state.splitDepth) {
+                search();
+            } else {
+                return forkSubtasks();
+            }
+            
+            return bestTour == null ? null :
+                                      new SearchResult(bestTour, bestTourCost);
+        }
+        
+        private SearchResult forkSubtasks() {
+            final DenseDirectedGraph graph = state.graph;
+            final int n = graph.size();
+            final int last = tentativeTour[tentativeTourSize - 1];
+            final List<SearchTask> taskList = new ArrayList<>(n);
+            
+            for (int node = 0; node < n; ++node) {
+                if (visited[node] || state.stopped) {
+                    continue;
+                }
+                
+                final double arcWeight = graph.getEdgeWeight(last, node);
+                final double minimumOutgoingArcWeight =
+                        state.minimumOutgoingArcWeights[node];
+                
+                if (tentativeTourCost + arcWeight
+                        + unvisitedLowerBound
+                        >= state.getBestTourCost()) {
+                    continue;
+                }
+                
+                tentativeTour[tentativeTourSize] = node;
+                visited[node] = true;
+                taskList.add(new SearchTask(
+                        state,
+                        tentativeTour,
+                        tentativeTourSize + 1,
+                        visited,
+                        tentativeTourCost + arcWeight,
+                        unvisitedLowerBound - minimumOutgoingArcWeight));
+                visited[node] = false;
+            }
+            
+            SearchResult result = null;
+            
+            for (final SearchTask task : invokeAll(taskList)) {
+                result = SearchResult.better(result, task.join());
+            }
+            
+            return result;
+        }
+        
+        private void search() {
+            final DenseDirectedGraph graph = state.graph;
+            final int n = graph.size();
+            final int last = tentativeTour[tentativeTourSize - 1];
+            
+            for (int node = 0; node < n; ++node) {
+                if (state.stopped) {
+                    return;
+                }
+                
+                if (visited[node]) {
+                    continue;
+                }
+                
+                if ((++numberOfExpansions & 1023) == 0) {
+                    state.checkSearchLimit();
+                }
+                
+                final double arcWeight = graph.getEdgeWeight(last, node);
+                final double minimumOutgoingArcWeight =
+                        state.minimumOutgoingArcWeights[node];
+                
+                // 'unvisitedLowerBound' still includes the cheapest arc
+                // leaving 'node', which is now the last node of the tour.
+                if (tentativeTourCost + arcWeight
+                        + unvisitedLowerBound
+                        >= state.getBestTourCost()) {
+                    continue;
+                }
+                
+                tentativeTour[tentativeTourSize++] = node;
+                visited[node] = true;
+                tentativeTourCost += arcWeight;
+                unvisitedLowerBound -= minimumOutgoingArcWeight;
+                
+                if (tentativeTourSize == n) {
+                    checkCompleteTour();
+                } else {
+                    search();
+                }
+                
+                unvisitedLowerBound += minimumOutgoingArcWeight;
+                tentativeTourCost -= arcWeight;
+                visited[node] = false;
+                --tentativeTourSize;
+            }
+        }
+        
+        private void checkCompleteTour() {
+            final int n = state.graph.size();
+            final double cost =
+                    tentativeTourCost +
+                    state.graph.getEdgeWeight(tentativeTour[n - 1],
+                                              tentativeTour[0]);
+            
+            if (state.offerTourCost(cost)) {
+                bestTourCost = cost;
+                bestTour = tentativeTour.clone();
+                state.reportTour(bestTour, cost);
+            }
+        }
+    }
+}
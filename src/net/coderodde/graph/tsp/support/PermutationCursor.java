@@ -0,0 +1,130 @@
+package net.coderodde.graph.tsp.support;
+
+/**
+ * This class implements an allocation-free enumeration of all permutations of
+ * the integers {@code 0, 1, ..., n - 1}. It uses the nonrecursive variant of
+ * Heap's algorithm, in which each permutation is obtained from the previous
+ * one by swapping two elements. The permutation is kept in a single array that
+ * is exposed without copying, and the positions of the last swap are
+ * available, so that the clients may update quantities depending on the
+ * permutation in constant time.
+ * <p>
+ * Optionally, the first element may be kept in place, in which case only the
+ * permutations of the remaining elements are enumerated. Since all rotations
+ * of a cyclic tour are equivalent, this enumerates each tour just once.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class PermutationCursor {
+    
+    private final int[] permutation;
+    
+    /**
+     * The first position that may be swapped.
+     */
+    private final int offset;
+    
+    /**
+     * The loop counters of Heap's algorithm.
+     */
+    private final int[] counters;
+    
+    private int index = 1;
+    private int lastSwapIndexA = -1;
+    private int lastSwapIndexB = -1;
+    
+    /**
+     * Constructs a cursor positioned at the identity permutation of length
+     * {@code size}.
+     *
+     * @param size the length of the permutations.
+     */
+    public PermutationCursor(final int size) {
+        this(size, false);
+    }
+    
+    /**
+     * Constructs a cursor positioned at the identity permutation of length
+     * {@code size}.
+     *
+     * @param size            the length of the permutations.
+     * @param fixFirstElement if {@code true}, the first element is never 
+     *                        moved.
+     */
+    public PermutationCursor(final int size, final boolean fixFirstElement) {
+        if (size < 0) {
+            throw new IllegalArgumentException(
+                    "The permutation length is negative: " + size + ".");
+        }
+        
+        this.permutation = new int[size];
+        this.offset = fixFirstElement && size > 0 ? 1 : 0;
+        this.counters = new int[size - offset];
+        
+        for (int i = 0; i < size; ++i) {
+            permutation[i] = i;
+        }
+    }
+    
+    /**
+     * Returns the current permutation. The returned array is updated in place
+     * by {@link #advance()} and must not be modified by the caller.
+     *
+     * @return the current permutation.
+     */
+    public int[] getPermutation() {
+        return permutation;
+    }
+    
+    /**
+     * Advances to the next permutation by swapping two of its elements.
+     *
+     * @return {@code true} if the cursor advanced, or {@code false} if all the
+     *         permutations have been enumerated.
+     */
+    public boolean advance() {
+        while (index < counters.length) {
+            if (counters[index] < index) {
+                lastSwapIndexA = offset + 
+                                 ((index & 1) == 0 ? 0 : counters[index]);
+                lastSwapIndexB = offset + index;
+                swap(permutation, lastSwapIndexA, lastSwapIndexB);
+                ++counters[index];
+                index = 1;
+                return true;
+            }
+            
+            counters[index] = 0;
+            ++index;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Returns the smaller of the two positions swapped by the last call to
+     * {@link #advance()}, or -1 if the cursor has not advanced yet.
+     *
+     * @return the smaller swapped position.
+     */
+    public int getLastSwapIndexA() {
+        return lastSwapIndexA;
+    }
+    
+    /**
+     * Returns the larger of the two positions swapped by the last call to
+     * {@link #advance()}, or -1 if the cursor has not advanced yet.
+     *
+     * @return the larger swapped position.
+     */
+    public int getLastSwapIndexB() {
+        return lastSwapIndexB;
+    }
+    
+    private static void swap(final int[] array, final int a, final int b) {
+        final int tmp = array[a];
+        array[a] = array[b];
+        array[b] = tmp;
+    }
+}
@@ -7,7 +7,9 @@ import java.util.NoSuchElementException;
 
 /**
  * This class implements an {@code Iterable} returning all possible permutations 
- * of a list.
+ * of a list. Each permutation is returned as a new list; see 
+ * {@link PermutationCursor} for enumerating the permutations of indices in 
+ * place without allocating.
  * 
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Feb 14, 2016) 
@@ -15,14 +17,27 @@ import java.util.NoSuchElementException;
 public class PermutationIterable<T> implements Iterable<List<T>> {
 
     final List<T> allElements = new ArrayList<>();
+    final boolean fixFirstElement;
 
     public PermutationIterable(List<T> allElements) {
+        this(allElements, false);
+    }
+
+    /**
+     * Constructs an iterable over the permutations of a list.
+     * 
+     * @param allElements     the elements to permute.
+     * @param fixFirstElement if {@code true}, only the permutations keeping 
+     *                        the first element in place are returned.
+     */
+    public PermutationIterable(List<T> allElements, boolean fixFirstElement) {
         this.allElements.addAll(allElements);
+        this.fixFirstElement = fixFirstElement;
     }
 
     @Override
     public Iterator<List<T>> iterator() {
-        return new PermutationIterator<>(allElements);
+        return new PermutationIterator<>(allElements, fixFirstElement);
     }
 
     private static final class PermutationIterator<T> 
@@ -31,8 +46,11 @@ public class PermutationIterable<T> implements Iterable<List<T>> {
         private List<T> nextPermutation;
         private final List<T> allElements = new ArrayList<>();
         private int[] indices;
+        private final int firstMovableIndex;
+
+        PermutationIterator(List<T> allElements, boolean fixFirstElement) {
+            this.firstMovableIndex = fixFirstElement ? 1 : 0;
 
-        PermutationIterator(List<T> allElements) {
             if (allElements.isEmpty()) {
                 nextPermutation = null;
                 return;
@@ -67,11 +85,11 @@ public class PermutationIterable<T> implements Iterable<List<T>> {
         private void generateNextPermutation() {
             int i = indices.length - 2;
 
-            while (i >= 0 && indices[i] > indices[i + 1]) {
+            while (i >= firstMovableIndex && indices[i] > indices[i + 1]) {
                 --i;
             }
 
-            if (i == -1) {
+            if (i < firstMovableIndex) {
                 // No more new permutations.
                 nextPermutation = null;
                 return;
@@ -0,0 +1,89 @@
+package net.coderodde.graph.tsp.support;
+
+import net.coderodde.graph.DenseDirectedGraph;
+import net.coderodde.graph.tsp.CancellationToken;
+import net.coderodde.graph.tsp.TourListener;
+
+/**
+ * This class bundles the limits of an anytime search: the time limit and the
+ * cancellation token, together with the listener of the new best tours.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class SearchLimit {
+    
+    private final DenseDirectedGraph graph;
+    private final long startTime;
+    private final long timeLimitNanos;
+    private final CancellationToken cancellationToken;
+    private final TourListener listener;
+    
+    /**
+     * Constructs the limits of a search starting now.
+     *
+     * @param graph             the searched graph.
+     * @param timeLimitNanos    the time limit in nanoseconds.
+     * @param cancellationToken the cancellation token or {@code null}.
+     * @param listener          the listener or {@code null}.
+     */
+    SearchLimit(final DenseDirectedGraph graph,
+                final long timeLimitNanos,
+                final CancellationToken cancellationToken,
+                final TourListener listener) {
+        this.graph = graph;
+        this.startTime = System.nanoTime();
+        this.timeLimitNanos = timeLimitNanos;
+        this.cancellationToken = cancellationToken;
+        this.listener = listener;
+    }
+    
+    /**
+     * Converts a time limit in milliseconds to nanoseconds, saturating at
+     * {@link Long#MAX_VALUE}.
+     *
+     * @param timeLimitMillis the time limit in milliseconds.
+     * @return the time limit in nanoseconds.
+     */
+    static long toNanos(final long timeLimitMillis) {
+        return timeLimitMillis > Long.MAX_VALUE / 1_000_000L ?
+               Long.MAX_VALUE :
+               timeLimitMillis * 1_000_000L;
+    }
+    
+    /**
+     * Checks whether the search must stop.
+     *
+     * @return {@code true} if the time is up or the search is cancelled.
+     */
+    boolean isExhausted() {
+        return (cancellationToken != null && cancellationToken.isCancelled())
+                || System.nanoTime() - startTime >= timeLimitNanos;
+    }
+    
+    /**
+     * Returns the time left before the time limit runs out.
+     *
+     * @return the remaining time in nanoseconds, or {@link Long#MAX_VALUE} if
+     *         there is no time limit.
+     */
+    long getRemainingNanos() {
+        if (timeLimitNanos == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        
+        return Math.max(0L, timeLimitNanos - (System.nanoTime() - startTime));
+    }
+    
+    /**
+     * Reports a new best tour to the listener.
+     *
+     * @param tour the tour as node indices.
+     * @param cost the cost of the tour.
+     */
+    void reportTour(final int[] tour, final double cost) {
+        if (listener != null) {
+            listener.onTourImproved(graph.toNodeIdList(tour), cost);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package net.coderodde.graph.tsp.support;
+
+import net.coderodde.graph.DenseDirectedGraph;
+import net.coderodde.graph.tsp.AsymmetricTSPSolver;
+
+/**
+ * This class provides the tour construction and bounding routines shared by 
+ * the solvers in this package.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class TourUtils {
+    
+    private TourUtils() {}
+    
+    /**
+     * Computes the weight of the cheapest arc leaving each node. Since a tour
+     * leaves each node exactly once, the sum of the weights of the cheapest 
+     * arcs leaving the unvisited nodes bounds from below the cost of 
+     * completing a partial tour.
+     * 
+     * @param graph the graph.
+     * @return the array of minimum outgoing arc weights.
+     */
+    static double[] computeMinimumOutgoingArcWeights(
+            final DenseDirectedGraph graph) {
+        final int n = graph.size();
+        final double[] minimumOutgoingArcWeights = new double[n];
+        
+        for (int node = 0; node < n; ++node) {
+            double minimumWeight = n == 1 ? 0.0 : Double.POSITIVE_INFINITY;
+            
+            for (int child = 0; child < n; ++child) {
+                if (child != node) {
+                    minimumWeight = Math.min(minimumWeight,
+                                             graph.getEdgeWeight(node, child));
+                }
+            }
+            
+            minimumOutgoingArcWeights[node] = minimumWeight;
+        }
+        
+        return minimumOutgoingArcWeights;
+    }
+    
+    /**
+     * Returns the cheapest of the nearest neighbor tours starting from each
+     * node.
+     * 
+     * @param graph the graph.
+     * @return the tour as node indices.
+     */
+    static int[] buildNearestNeighborTour(final DenseDirectedGraph graph) {
+        final int n = graph.size();
+        final int[] tour = new int[n];
+        final int[] bestTour = new int[n];
+        final boolean[] visited = new boolean[n];
+        double bestTourCost = Double.POSITIVE_INFINITY;
+        
+        for (int start = 0; start < n; ++start) {
+            buildNearestNeighborTour(graph, start, tour, visited);
+            final double cost = AsymmetricTSPSolver.getTourCost(graph, tour);
+            
+            if (start == 0 || bestTourCost > cost) {
+                bestTourCost = cost;
+                System.arraycopy(tour, 0, bestTour, 0, n);
+            }
+            
+            for (int node = 0; node < n; ++node) {
+                visited[node] = false;
+            }
+        }
+        
+        return bestTour;
+    }
+    
+    /**
+     * Returns the nearest neighbor tour starting from the node {@code start}.
+     * Unlike {@link #buildNearestNeighborTour(DenseDirectedGraph)}, this runs
+     * in time <tt>O(n^2)</tt>, and so is suitable for large graphs.
+     * 
+     * @param graph the graph.
+     * @param start the index of the first node of the tour.
+     * @return the tour as node indices.
+     */
+    static int[] buildNearestNeighborTour(final DenseDirectedGraph graph,
+                                          final int start) {
+        final int n = graph.size();
+        final int[] tour = new int[n];
+        buildNearestNeighborTour(graph, start, tour, new boolean[n]);
+        return tour;
+    }
+    
+    private static void buildNearestNeighborTour(final DenseDirectedGraph graph,
+                                                 final int start,
+                                                 final int[] tour,
+                                                 final boolean[] visited) {
+        final int n = graph.size();
+        tour[0] = start;
+        visited[start] = true;
+        
+        for (int size = 1; size < n; ++size) {
+            final int current = tour[size - 1];
+            int nearest = -1;
+            double nearestWeight = Double.POSITIVE_INFINITY;
+            
+            for (int node = 0; node < n; ++node) {
+                if (visited[node]) {
+                    continue;
+                }
+                
+                final double weight = graph.getEdgeWeight(current, node);
+                
+                if (nearest == -1 || nearestWeight > weight) {
+                    nearest = node;
+                    nearestWeight = weight;
+                }
+            }
+            
+            tour[size] = nearest;
+            visited[nearest] = true;
+        }
+    }
+    
+    /**
+     * Computes the neighbor lists of the nodes. The neighbor list of a node
+     * holds the {@code numberOfNeighbors} other nodes with the cheapest arcs 
+     * leaving the node (or entering the node if {@code incoming} is 
+     * {@code true}), sorted by the arc weight. If the graph has fewer than 
+     * {@code numberOfNeighbors + 1} nodes, each list holds all the other 
+     * nodes.
+     * 
+     * @param graph             the graph.
+     * @param numberOfNeighbors the maximum length of a neighbor list.
+     * @param incoming          whether to sort the neighbors by the weights of
+     *                          the arcs entering the node.
+     * @return the neighbor lists concatenated in node order.
+     */
+    static int[] computeNeighborLists(final DenseDirectedGraph graph,
+                                      final int numberOfNeighbors,
+                                      final boolean incoming) {
+        final int n = graph.size();
+        final int k = Math.min(numberOfNeighbors, Math.max(n - 1, 0));
+        final int[] neighborLists = new int[n * k];
+        final double[] neighborWeights = new double[k];
+        
+        if (k == 0) {
+            return neighborLists;
+        }
+        
+        for (int node = 0; node < n; ++node) {
+            final int offset = node * k;
+            int size = 0;
+            
+            for (int neighbor = 0; neighbor < n; ++neighbor) {
+                if (neighbor == node) {
+                    continue;
+                }
+                
+                final double weight = incoming ?
+                                      graph.getEdgeWeight(neighbor, node) :
+                                      graph.getEdgeWeight(node, neighbor);
+                
+                if (size == k && neighborWeights[k - 1] <= weight) {
+                    continue;
+                }
+                
+                // Insertion sort the neighbor into the list, dropping the
+                // most expensive neighbor if the list is full.
+                int i = size < k ? size++ : k - 1;
+                
+                while (i > 0 && neighborWeights[i - 1] > weight) {
+                    neighborWeights[i] = neighborWeights[i - 1];
+                    neighborLists[offset + i] = neighborLists[offset + i - 1];
+                    --i;
+                }
+                
+                neighborWeights[i] = weight;
+                neighborLists[offset + i] = neighbor;
+            }
+        }
+        
+        return neighborLists;
+    }
+}
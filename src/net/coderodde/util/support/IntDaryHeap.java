@@ -0,0 +1,301 @@
+package net.coderodde.util.support;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import net.coderodde.util.IntPriorityQueue;
+
+/**
+ * This class implements an indexed <tt>d</tt>-ary heap over the integers
+ * {@code 0, 1, ..., capacity - 1}. Unlike {@link DaryHeap}, it stores the
+ * elements in a plain {@code int} array, the priorities in a {@code double}
+ * array indexed by element, and the heap position of each element in another
+ * {@code int} array, so that neither insertion nor decrease-key allocate, box
+ * or hash anything.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class IntDaryHeap implements IntPriorityQueue {
+    
+    /**
+     * The minimum degree of the heaps. (Signifies the binary heap.)
+     */
+    private static final int MINIMUM_DEGREE = 2;
+    
+    /**
+     * The default degree of the heaps.
+     */
+    private static final int DEFAULT_DEGREE = 4;
+    
+    /**
+     * Marks an element that is not in the heap.
+     */
+    private static final int ABSENT = -1;
+    
+    /**
+     * The actual degree of this heap.
+     */
+    private final int degree;
+    
+    /**
+     * The heap-ordered elements.
+     */
+    private final int[] heap;
+    
+    /**
+     * Maps each element to its index in {@code heap} or {@code ABSENT}.
+     */
+    private final int[] positions;
+    
+    /**
+     * Maps each element in the heap to its priority.
+     */
+    private final double[] priorities;
+    
+    /**
+     * Caches the amount of elements in this heap.
+     */
+    private int size;
+    
+    /**
+     * Constructs a new <tt>d</tt>-ary heap with given degree and capacity.
+     *
+     * @param degree   the degree of this heap.
+     * @param capacity the number of distinct elements this heap may hold. The
+     *                 elements are {@code 0, 1, ..., capacity - 1}.
+     */
+    public IntDaryHeap(final int degree, final int capacity) {
+        checkDegree(degree);
+        
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                    "The capacity is negative: " + capacity + ".");
+        }
+        
+        this.degree = degree;
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.priorities = new double[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+    
+    /**
+     * Constructs a new heap with default degree.
+     *
+     * @param capacity the number of distinct elements this heap may hold.
+     */
+    public IntDaryHeap(final int capacity) {
+        this(DEFAULT_DEGREE, capacity);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final int element, final double priority) {
+        final int position = positions[element];
+        
+        if (position != ABSENT) {
+            if (priorities[element] <= priority) {
+                return false;
+            }
+            
+            priorities[element] = priority;
+            siftUp(position);
+            return true;
+        }
+        
+        heap[size] = element;
+        positions[element] = size;
+        priorities[element] = priority;
+        siftUp(size++);
+        return true;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int extractMinimum() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+            "Reading from an empty d-ary heap.");
+        }
+        
+        final int ret = heap[0];
+        positions[ret] = ABSENT;
+        
+        if (--size != 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int min() {
+        if (size == 0) {
+            throw new NoSuchElementException("Reading from an empty queue.");
+        }
+        
+        return heap[0];
+    }
+    
+    @Override
+    public boolean contains(final int element) {
+        return positions[element] != ABSENT;
+    }
+    
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; ++i) {
+            positions[heap[i]] = ABSENT;
+        }
+        
+        size = 0;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Sets the priority of {@code element}, which must be in this heap, and
+     * restores the heap order. Unlike {@link #add(int, double)}, this method
+     * may also increase the priority.
+     *
+     * @param element  the element.
+     * @param priority the new priority of the element.
+     */
+    public void updatePriority(final int element, final double priority) {
+        final int position = positions[element];
+        
+        if (position == ABSENT) {
+            throw new NoSuchElementException(
+            "The element " + element + " is not in the heap.");
+        }
+        
+        final double oldPriority = priorities[element];
+        priorities[element] = priority;
+        
+        if (priority < oldPriority) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+    
+    /**
+     * Returns the degree of this <tt>d</tt>-ary heap.
+     *
+     * @return the degree of this heap.
+     */
+    public int getDegree() {
+        return degree;
+    }
+    
+    /**
+     * {@inheritDoc}
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "IntDaryHeap: degree = " + degree;
+    }
+    
+    /**
+     * Checks that the degree is not less than the minimum degree, which is 2.
+     *
+     * @param degree the degree to check.
+     */
+    private void checkDegree(final int degree) {
+        if (degree < MINIMUM_DEGREE) {
+            throw new IllegalArgumentException(
+            "Degree must be at least " + MINIMUM_DEGREE +
+            ", received " + degree + ".");
+        }
+    }
+    
+    /**
+     * Sifts the element at index <code>index</code> up until <tt>d</tt>-ary
+     * heap invariant is fixed.
+     *
+     * @param index the index of the element to sift up.
+     */
+    private void siftUp(int index) {
+        final int target = heap[index];
+        final double priority = priorities[target];
+        
+        while (index > 0) {
+            final int parentIndex = (index - 1) / degree;
+            final int parent = heap[parentIndex];
+            
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            
+            heap[index] = parent;
+            positions[parent] = index;
+            index = parentIndex;
+        }
+        
+        heap[index] = target;
+        positions[target] = index;
+    }
+    
+    /**
+     * Sifts the element at index <code>index</code> down until <tt>d</tt>-ary
+     * heap invariant is fixed.
+     *
+     * @param index the index of the element to sift down.
+     */
+    private void siftDown(int index) {
+        final int target = heap[index];
+        final double priority = priorities[target];
+        
+        for (;;) {
+            final int firstChildIndex = degree * index + 1;
+            
+            if (firstChildIndex >= size) {
+                break;
+            }
+            
+            final int lastChildIndex = Math.min(firstChildIndex + degree,
+                                                size);
+            int minChildIndex = firstChildIndex;
+            double minChildPriority = priorities[heap[firstChildIndex]];
+            
+            for (int i = firstChildIndex + 1; i < lastChildIndex; ++i) {
+                final double tentative = priorities[heap[i]];
+                
+                if (minChildPriority > tentative) {
+                    minChildPriority = tentative;
+                    minChildIndex = i;
+                }
+            }
+            
+            if (minChildPriority >= priority) {
+                break;
+            }
+            
+            heap[index] = heap[minChildIndex];
+            positions[heap[index]] = index;
+            index = minChildIndex;
+        }
+        
+        heap[index] = target;
+        positions[target] = index;
+    }
+}